@@ -0,0 +1,50 @@
+import frogger.bench.GameHooks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// Default-package side of the benchmarks: sees the game's package-private API and exposes it through GameHooks. //
+public class BenchHooks implements GameHooks {
+    private World world;
+    private WorldRenderer renderer;
+    private BufferedImage frame;
+    private Graphics2D g;
+
+    @Override public void setUp(double trafficScale, double logDensityScale, double critterDensityScale, int warmupTicks) {
+        world = new World();
+        world.trafficScale = trafficScale;
+        world.logDensityScale = logDensityScale;
+        world.critterDensityScale = critterDensityScale;
+        world.setupLevel();
+        for (int i = 0; i < warmupTicks; i++) world.step();
+    }
+
+    @Override public int step() {
+        world.step();
+        return world.ticks;
+    }
+
+    @Override public int spacingSweep() {
+        LaneActors a = world.roadLanes[0].actors;
+        int hits = 0;
+        for (int x = -World.CAR_W; x < World.WIDTH; x += World.TILE) {
+            if (a.overlapping(x, World.CAR_W, World.TILE) >= 0) hits++;
+        }
+        return hits;
+    }
+
+    @Override public void renderFrame(boolean showHelp) {
+        if (g == null) {
+            Assets.atlas();
+            renderer = new WorldRenderer(world);
+            frame = new BufferedImage(World.WIDTH, World.HEIGHT, BufferedImage.TYPE_INT_RGB);
+            g = frame.createGraphics();
+        }
+        renderer.render(g, null, 0, false, showHelp);
+    }
+
+    @Override public void tearDown() {
+        if (g != null) g.dispose();
+        g = null;
+    }
+}
@@ -0,0 +1,30 @@
+package frogger.bench;
+
+/**
+ * What the benchmarks drive. The game lives in the default package, which named packages cannot import and
+ * JMH refuses to host benchmarks in, so the default-package {@code BenchHooks} implements this interface and
+ * is loaded by name once per trial. The single implementation keeps every call monomorphic for the JIT.
+ */
+public interface GameHooks {
+    /** Fresh World at the given densities, stepped until its lanes reach steady state. */
+    void setUp(double trafficScale, double logDensityScale, double critterDensityScale, int warmupTicks);
+
+    /** One World.step(); returns the tick counter so the call can't be eliminated. */
+    int step();
+
+    /** Spawn-spacing queries sweeping a road lane; returns how many found a neighbour. */
+    int spacingSweep();
+
+    /** One offscreen frame through WorldRenderer. */
+    void renderFrame(boolean showHelp);
+
+    void tearDown();
+
+    static GameHooks load() {
+        try {
+            return (GameHooks) Class.forName("BenchHooks").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("BenchHooks missing from the benchmark classpath", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package frogger.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Offscreen frame: WorldRenderer drawing a steady-state board into a BufferedImage, as GamePanel paints it. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"1.6", "0.4"})
+    public double trafficScale;
+
+    @Param({"false", "true"})
+    public boolean showHelp;
+
+    private GameHooks game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = GameHooks.load();
+        game.setUp(trafficScale, 1.4, 1.5, 2_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() { game.tearDown(); }
+
+    @Benchmark
+    public void frame() { game.renderFrame(showHelp); }
+}
@@ -0,0 +1,42 @@
+package frogger.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation hot path: one {@code World.step()} (spawn, move, gap resolve, trim, collide) at configurable
+ * densities. A lower scale means a shorter spawn interval and busier lanes. The per-phase split is reported by
+ * the game's own Metrics ({@code -Dfrogger.metrics=...} or F3).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TickBenchmark {
+    @Param({"1.6", "0.4", "0.05"})
+    public double trafficScale;
+
+    @Param({"1.4"})
+    public double logDensityScale;
+
+    @Param({"1.5"})
+    public double critterDensityScale;
+
+    private GameHooks game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = GameHooks.load();
+        game.setUp(trafficScale, logDensityScale, critterDensityScale, 2_000);
+    }
+
+    @Benchmark
+    public int step() { return game.step(); }
+
+    /** Spawn-spacing checks against a road lane (binary search plus neighbour scan). */
+    @Benchmark
+    public int spacingSweep() { return game.spacingSweep(); }
+}
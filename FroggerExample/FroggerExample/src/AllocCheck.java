@@ -0,0 +1,39 @@
+import java.lang.management.ManagementFactory;
+
+// Headless allocation probe: warms a World up, then reports heap bytes allocated per steady-state step(). //
+// The frog hops up every HOP_EVERY ticks, so deaths and level rebuilds are inside the measured window too.
+// Run: java AllocCheck [warmupTicks] [measuredTicks]   (exit code 1 if the window allocated more than ONE_OFF_BYTES)
+class AllocCheck {
+    static final int HOP_EVERY = 30;
+    // Not zero: C2 still (re)compiling step()'s rarer paths (deaths, level rebuilds) inside the window allocates a few
+    // hundred bytes once. 512-824 bytes here, whatever the window length; 0 under -Xint, with C1 only
+    // (-XX:TieredStopAtLevel=1) or after a 200k-tick warm-up. Garbage as rare as 16 bytes every 100 ticks would already
+    // be 16 KB over the default window.
+    static final long ONE_OFF_BYTES = 4 * 1024;
+
+    public static void main(String[] args) {
+        int warmup = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int ticks  = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        mx.getCurrentThreadAllocatedBytes(); // first call initialises the bean; keep that out of the window
+        World world = new World();
+        for (int i = 0; i < warmup; i++) step(world, i); // lets lane stores grow to their working size and the JIT settle
+
+        long before = mx.getCurrentThreadAllocatedBytes();
+        int lives = world.frog.lives, deaths = 0;
+        for (int i = 0; i < ticks; i++) {
+            step(world, i);
+            if (world.frog.lives != lives) { if (world.frog.lives < lives) deaths++; lives = world.frog.lives; }
+        }
+        long bytes = mx.getCurrentThreadAllocatedBytes() - before;
+
+        System.out.printf("%d ticks, %d deaths, %d bytes allocated (%.3f bytes/tick)%n", ticks, deaths, bytes, bytes / (double) ticks);
+        if (bytes > ONE_OFF_BYTES) System.exit(1);
+    }
+
+    private static void step(World world, int i) {
+        if (i % HOP_EVERY == 0) world.press(World.HOP_UP);
+        world.step();
+    }
+}
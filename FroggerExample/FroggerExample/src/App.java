@@ -1,13 +1,55 @@
 import javax.swing.*;
+import java.nio.file.Path;
 
 public class App {
-    public static void main(String[] args) {
+    // Args: --active         use the BufferStrategy game loop (GameCanvas) instead of the Swing timer panel
+    //       --seed N         start from a fixed seed (same seed + same inputs = same game)
+    //       --record FILE    write a replay of this session to FILE on exit
+    //       --replay FILE    re-run FILE headless, report whether it still matches, and exit
+    //       --lane-workers N tick lanes on N threads (for large boards; same results as the default single thread)
+    //       --levels FILE    play the levels in FILE (text or compiled) instead of assets/levels
+    public static void main(String[] args) throws Exception {
+        boolean active = false;
+        Long seed = null;
+        Path record = null;
+        int laneWorkers = 0;
+        LevelPlan plan = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--active" -> active = true;
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--record" -> record = Path.of(args[++i]);
+                case "--replay" -> { Replay.main(new String[] { args[++i] }); return; }
+                case "--lane-workers" -> laneWorkers = Integer.parseInt(args[++i]);
+                case "--levels" -> plan = LevelPlan.load(Path.of(args[++i]));
+            }
+        }
+
+        Assets.preload(); // decode sprites while the levels load and the window comes up
+        if (plan == null) plan = LevelPlan.standard();
+        World world = new World((seed != null) ? seed : new java.util.Random().nextLong(), plan);
+        if (record != null) Replay.recordTo(world, record);
+        if (laneWorkers > 1) world.laneWorkers = new LaneWorkers(laneWorkers);
+        boolean useCanvas = active;
         SwingUtilities.invokeLater(() -> {
             JFrame f = new JFrame("Frogger - Sprites + Tiles");
             f.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
             f.setResizable(false);
 
-            GamePanel panel = new GamePanel();
+            if (useCanvas) {
+                GameCanvas canvas = new GameCanvas(world);
+                f.add(canvas);
+                f.pack();
+                f.setLocationRelativeTo(null);
+                f.setVisible(true);
+
+                // Buffer strategy needs a displayable canvas, so start after setVisible
+                canvas.requestFocusInWindow();
+                canvas.start();
+                return;
+            }
+
+            GamePanel panel = new GamePanel(world);
             f.setContentPane(panel);
             f.pack();
             f.setLocationRelativeTo(null);
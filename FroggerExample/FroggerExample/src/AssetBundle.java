@@ -0,0 +1,165 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Every sprite and tile pre-decoded into one file (assets/assets.bin), so startup copies pixels instead of inflating PNGs. //
+// Build it with: java AssetBundle [assets/assets.bin]; `mvn package` packs one into the jar. Assets uses it when present
+// and falls back to the PNGs per image.
+//
+// Format (big-endian): "FAB3", image count, then per image its path (UTF), the byte size, modification time (ms) and
+// CRC32 of the PNG it came from,
+// width, height and the offset of its pixels; then the pixels, non-premultiplied ARGB ints, width * height per image.
+final class AssetBundle {
+    static final String FILE = "assets/assets.bin";
+    private static final int MAGIC = 0x46414233; // "FAB3": size and mtime first, so startup only stats the PNGs
+
+    private static final class Entry {
+        final long sourceSize, sourceMtime, sourceCrc;
+        final int w, h, offset;
+
+        Entry(long sourceSize, long sourceMtime, long sourceCrc, int w, int h, int offset) {
+            this.sourceSize = sourceSize; this.sourceMtime = sourceMtime; this.sourceCrc = sourceCrc;
+            this.w = w; this.h = h; this.offset = offset;
+        }
+    }
+
+    private final ByteBuffer data; // mapped file (or the classpath copy); read through duplicate() views only
+    private final Map<String, Entry> index = new HashMap<>();
+
+    private AssetBundle(ByteBuffer data) throws IOException {
+        this.data = data;
+        ByteBuffer in = data.duplicate();
+        if (in.remaining() < 8 || in.getInt() != MAGIC) throw new IOException("not an asset bundle");
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            String path = readUtf(in);
+            index.put(path, new Entry(in.getLong(), in.getLong(), in.getLong(), in.getInt(), in.getInt(), in.getInt()));
+        }
+    }
+
+    // The bundle in ./assets (memory-mapped) or on the classpath, or null if neither has one or it is unreadable
+    static AssetBundle open() {
+        try {
+            return map(Path.of(".", FILE));
+        } catch (NoSuchFileException e) {
+            // try the classpath
+        } catch (IOException e) {
+            System.err.println("assets: ignoring " + FILE + " (" + e + ")");
+            return null;
+        }
+        URL url = AssetBundle.class.getResource("/" + FILE);
+        if (url == null) return null;
+        try (InputStream in = url.openStream()) {
+            return new AssetBundle(ByteBuffer.wrap(in.readAllBytes()));
+        } catch (IOException e) {
+            System.err.println("assets: ignoring " + FILE + " (" + e + ")");
+            return null;
+        }
+    }
+
+    static AssetBundle map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file)) {
+            return new AssetBundle(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size())); // the mapping outlives the channel
+        }
+    }
+
+    // relPath's pixels as a fresh TYPE_INT_ARGB image, or null if it isn't bundled or its PNG changed since packing
+    BufferedImage image(String relPath) {
+        Entry e = index.get(relPath);
+        if (e == null || stale(relPath, e)) return null;
+        BufferedImage img = new BufferedImage(e.w, e.h, BufferedImage.TYPE_INT_ARGB);
+        // Straight into the raster's array. That leaves the image unaccelerated, but only Assets.prepare() draws from it.
+        int[] px = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+        data.duplicate().position(e.offset).asIntBuffer().get(px);
+        return img;
+    }
+
+    // A PNG next to us that isn't the one we packed (missing PNGs are fine: the bundle may ship alone). Same size and
+    // mtime is taken as unchanged without reading it; otherwise the bytes decide, so a fresh checkout still matches.
+    private static boolean stale(String relPath, Entry e) {
+        Path png = Path.of(".", relPath);
+        try {
+            if (Files.size(png) != e.sourceSize) return true;
+            if (Files.getLastModifiedTime(png).toMillis() == e.sourceMtime) return false;
+            return crc(Files.readAllBytes(png)) != e.sourceCrc;
+        } catch (IOException missing) {
+            return false;
+        }
+    }
+
+    private static long crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    // writeUTF's length-prefixed form; paths are ASCII, where it matches plain UTF-8
+    private static String readUtf(ByteBuffer in) {
+        byte[] b = new byte[in.getShort() & 0xFFFF];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    // Packs Assets.PATHS from ./assets: java AssetBundle [out]
+    public static void main(String[] args) throws IOException {
+        Path dst = Path.of(args.length > 0 ? args[0] : FILE);
+        long t0 = System.nanoTime();
+        int n = Assets.PATHS.size();
+        BufferedImage[] images = new BufferedImage[n];
+        long[] sizes = new long[n], mtimes = new long[n], crcs = new long[n];
+        for (int i = 0; i < n; i++) {
+            Path src = Path.of(".", Assets.PATHS.get(i));
+            mtimes[i] = Files.getLastModifiedTime(src).toMillis();
+            byte[] png = Files.readAllBytes(src);
+            sizes[i] = png.length;
+            crcs[i] = crc(png);
+            images[i] = ImageIO.read(new ByteArrayInputStream(png));
+            if (images[i] == null) throw new IOException(src + ": not a readable image");
+        }
+        long decoded = System.nanoTime() - t0;
+
+        // Header size first, so the pixel offsets can be written up front
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream h = new DataOutputStream(header);
+        h.writeInt(MAGIC);
+        h.writeInt(n);
+        int headerSize = 8;
+        for (String p : Assets.PATHS) headerSize += 2 + p.getBytes(StandardCharsets.UTF_8).length + 8 + 8 + 8 + 4 + 4 + 4;
+        int offset = headerSize;
+        for (int i = 0; i < n; i++) {
+            h.writeUTF(Assets.PATHS.get(i));
+            h.writeLong(sizes[i]);
+            h.writeLong(mtimes[i]);
+            h.writeLong(crcs[i]);
+            h.writeInt(images[i].getWidth());
+            h.writeInt(images[i].getHeight());
+            h.writeInt(offset);
+            offset += images[i].getWidth() * images[i].getHeight() * 4;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dst)))) {
+            header.writeTo(out);
+            for (BufferedImage img : images) {
+                int w = img.getWidth(), hgt = img.getHeight();
+                for (int px : img.getRGB(0, 0, w, hgt, null, 0, w)) out.writeInt(px);
+            }
+        }
+
+        t0 = System.nanoTime();
+        AssetBundle b = map(dst);
+        for (String p : Assets.PATHS) b.image(p);
+        long loaded = System.nanoTime() - t0;
+        System.out.printf("%s: %d images, %d KB (PNG decode %.1f ms, bundle load %.1f ms)%n",
+                dst, n, Files.size(dst) / 1024, decoded / 1e6, loaded / 1e6);
+    }
+}
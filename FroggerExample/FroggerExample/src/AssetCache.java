@@ -0,0 +1,107 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Decoded images by (path, size, flip), least recently used dropped first once their rasters pass the byte budget. //
+// One lock around an access-ordered LinkedHashMap; loads run outside it, so two threads missing the same key may both
+// decode it and the first to finish wins. Misses that load nothing are not cached. Pinned images are ones something
+// else holds for good (the sprite atlas): they count against the budget but are never evicted.
+class AssetCache {
+    // w = h = 0: the image as decoded; otherwise prepared at exactly w x h
+    static final class Key {
+        final String path;
+        final int w, h;
+        final boolean flip;
+
+        Key(String path, int w, int h, boolean flip) {
+            this.path = path; this.w = w; this.h = h; this.flip = flip;
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Key k && k.w == w && k.h == h && k.flip == flip && k.path.equals(path);
+        }
+
+        @Override public int hashCode() { return ((path.hashCode() * 31 + w) * 31 + h) * 2 + (flip ? 1 : 0); }
+
+        @Override public String toString() { return (w == 0) ? path : path + "@" + w + "x" + h + (flip ? " flipped" : ""); }
+    }
+
+    private final long budget;
+    private final LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<>(32, 0.75f, true);
+    private final HashSet<Key> pinned = new HashSet<>();
+    private long bytes, pinnedBytes;
+    private long hits, misses, evictions;
+
+    AssetCache(long budgetBytes) { this.budget = budgetBytes; }
+
+    // Cached image, or load()'s result (cached unless null)
+    BufferedImage get(Key key, Supplier<BufferedImage> load) { return get(key, load, false); }
+
+    // Same, and the image stays cached for good
+    BufferedImage pin(Key key, Supplier<BufferedImage> load) { return get(key, load, true); }
+
+    private BufferedImage get(Key key, Supplier<BufferedImage> load, boolean pin) {
+        synchronized (this) {
+            BufferedImage img = images.get(key);
+            if (img != null) {
+                hits++;
+                if (pin) pin(key, img);
+                return img;
+            }
+            misses++;
+        }
+        BufferedImage img = load.get();
+        if (img == null) return null;
+        synchronized (this) {
+            BufferedImage prev = images.putIfAbsent(key, img);
+            if (prev != null) {
+                if (pin) pin(key, prev);
+                return prev;
+            }
+            bytes += bytes(img);
+            if (pin) pin(key, img);
+            evict(key);
+        }
+        return img;
+    }
+
+    private void pin(Key key, BufferedImage img) {
+        if (pinned.add(key)) pinnedBytes += bytes(img);
+    }
+
+    // Oldest unpinned first until within budget; the image just added stays even if it alone is over
+    private void evict(Key keep) {
+        Iterator<Map.Entry<Key, BufferedImage>> it = images.entrySet().iterator();
+        while (bytes > budget && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> e = it.next();
+            if (e.getKey().equals(keep) || pinned.contains(e.getKey())) continue;
+            bytes -= bytes(e.getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    synchronized void clear() {
+        images.clear();
+        pinned.clear();
+        bytes = pinnedBytes = 0;
+    }
+
+    synchronized long bytes() { return bytes; }
+    synchronized int size() { return images.size(); }
+
+    synchronized String stats() {
+        return String.format("%d images, %d KB (%d KB pinned) of %d KB, %d hits, %d misses, %d evictions",
+                images.size(), bytes / 1024, pinnedBytes / 1024, budget / 1024, hits, misses, evictions);
+    }
+
+    // Size of the decoded raster, whatever its sample layout
+    static long bytes(BufferedImage img) {
+        DataBuffer db = img.getRaster().getDataBuffer();
+        return (long) db.getSize() * db.getNumBanks() * DataBuffer.getDataTypeSize(db.getDataType()) / 8;
+    }
+}
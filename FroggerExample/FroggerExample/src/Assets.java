@@ -1,47 +1,183 @@
 import javax.imageio.ImageIO;
+import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
-import java.util.HashMap;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 // Simple loader: tries ./assets then classpath /assets/, caches results, returns null if missing. //
+// preload() decodes every image in parallel on background threads and builds the atlas, so no frame waits on ImageIO;
+// the front ends show a loading screen until its future is done. Missing or unreadable files are reported on stderr.
+// Tiles (drawn as decoded) and the atlas's prepared sprites share one bounded LRU cache: -Dfrogger.assets.budget=MB
+// (default 64). Sprites are pinned there, as the atlas holds them anyway; their full-size decodes are never kept.
 class Assets {
-    private static final Map<String, BufferedImage> cache = new HashMap<>();
+    static final long BUDGET = Long.getLong("frogger.assets.budget", 64) << 20;
+    static final AssetCache cache = new AssetCache(BUDGET);
+    private static volatile SpriteAtlas atlas;
+    private static CompletableFuture<SpriteAtlas> ready; // guarded by Assets.class
+
+    private static final AtomicInteger loaded = new AtomicInteger();
+    private static final Map<String, Long> loadNanos = new ConcurrentHashMap<>();
+
+    private static volatile AssetBundle bundle; // assets.bin if there is one; opened by preload()
+
+    static { ImageIO.setUseCache(false); } // decode from memory; the default spools every stream to a temp file first
 
     private static BufferedImage load(String relPath) {
-        if (cache.containsKey(relPath)) return cache.get(relPath);
-        BufferedImage img = null;
-        try {
-            File f = new File("." + File.separator + relPath.replace("/", File.separator));
-            if (f.exists()) img = ImageIO.read(f);
-            if (img == null) {
-                URL url = Assets.class.getResource("/" + relPath);
-                if (url != null) img = ImageIO.read(url);
+        return cache.get(new AssetCache.Key(relPath, 0, 0, false), () -> read(relPath));
+    }
+
+    // key.path prepared at key's size (mirrored if key.flip), pinned in the cache. Made from src if given (one decode for
+    // all copies of a sprite), else from a decode of its own that isn't kept. Null if the image is missing.
+    static BufferedImage prepared(AssetCache.Key key, BufferedImage src) {
+        return cache.pin(key, () -> prepare((src != null) ? src : read(key.path), key.w, key.h, key.flip));
+    }
+
+    // A tile is cached as decoded; a sprite is decoded once, its atlas copies prepared from that, and the decode dropped
+    private static void warm(String path) {
+        List<AssetCache.Key> copies = SpriteAtlas.KEYS.stream().filter(k -> k.path.equals(path)).toList();
+        if (copies.isEmpty()) { load(path); return; }
+        BufferedImage src = read(path);
+        if (src != null) for (AssetCache.Key k : copies) prepared(k, src);
+    }
+
+    // One decode, no caching: from the bundle if it has the image, else the PNG. Opens the file directly (a missing one
+    // is just the exception) before trying the classpath.
+    private static BufferedImage read(String relPath) {
+        long t0 = System.nanoTime();
+        AssetBundle b = bundle;
+        BufferedImage img = (b != null) ? b.image(relPath) : null;
+        if (img != null) {
+            loadNanos.put(relPath, System.nanoTime() - t0);
+            return img;
+        }
+        String problem = "not found";
+        try (InputStream in = Files.newInputStream(Path.of(".", relPath))) {
+            img = ImageIO.read(in);
+            if (img == null) problem = "not a readable image";
+        } catch (NoSuchFileException e) {
+            // fall through to the classpath
+        } catch (IOException | RuntimeException e) {
+            problem = e.toString();
+        }
+        if (img == null) {
+            URL url = Assets.class.getResource("/" + relPath);
+            if (url != null) {
+                try {
+                    img = ImageIO.read(url);
+                    if (img == null) problem = "not a readable image";
+                } catch (IOException | RuntimeException e) {
+                    problem = e.toString();
+                }
             }
-        } catch (Exception ignored) {}
-        cache.put(relPath, img);
+        }
+        if (img == null) System.err.println("assets: could not load " + relPath + " (" + problem + ")");
+        else loadNanos.put(relPath, System.nanoTime() - t0);
         return img;
     }
 
+    // Starts decoding every image and building the atlas on a small daemon pool; later calls return the same future.
+    // It always completes normally: a missing image is left null and its sprite falls back to a box.
+    static synchronized CompletableFuture<SpriteAtlas> preload() {
+        if (ready != null) return ready;
+        long t0 = System.nanoTime();
+        bundle = AssetBundle.open();
+        int threads = Math.min(PATHS.size(), Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        CompletableFuture<?>[] loads = PATHS.stream()
+                .map(path -> CompletableFuture.runAsync(() -> { warm(path); loaded.incrementAndGet(); }, pool))
+                .toArray(CompletableFuture[]::new);
+        ready = CompletableFuture.allOf(loads)
+                .thenApplyAsync(v -> atlas = new SpriteAtlas(), pool)
+                .whenComplete((a, e) -> {
+                    pool.shutdown();
+                    if (e != null) System.err.println("assets: preload failed: " + e);
+                    else report(threads, System.nanoTime() - t0);
+                });
+        return ready;
+    }
+
+    // Images decoded so far out of total(), for a progress bar
+    static int loaded() { return loaded.get(); }
+    static int total()  { return PATHS.size(); }
+
+    private static void report(int threads, long nanos) {
+        Map.Entry<String, Long> slowest = loadNanos.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        long decode = loadNanos.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("assets: %d/%d images%s in %.1f ms on %d threads (%.1f ms loading%s); cache %s%n",
+                loadNanos.size(), PATHS.size(), (bundle != null) ? " (bundled)" : "", nanos / 1e6, threads, decode / 1e6,
+                (slowest == null) ? "" : String.format(", slowest %s %.1f ms", slowest.getKey(), slowest.getValue() / 1e6),
+                cache.stats());
+    }
+
+    // Image paths (the cache keys)
+    static final String CAR = "assets/sprites/car.png", CAR_RED = "assets/sprites/carRed.png",
+            TRUCK = "assets/sprites/truck.png", LOG = "assets/sprites/log.png",
+            BIRD = "assets/sprites/bird.png", SNAKE = "assets/sprites/snake.png";
+    static final String FROG = "assets/sprites/frog.png", FROG_LEFT = "assets/sprites/frogLeft.png",
+            FROG_RIGHT = "assets/sprites/frogRight.png", FROG_REAR = "assets/sprites/frogRear.png";
+    static final String GRASS = "assets/tiles/grass.png", WATER = "assets/tiles/water.png", ROAD = "assets/tiles/road.png",
+            GOAL = "assets/tiles/goal.png", START = "assets/tiles/start.png", ROAD_MARK = "assets/tiles/road_mark.png";
+
+    // Every image the game draws: what preload() starts at once and AssetBundle packs
+    static final List<String> PATHS = List.of(CAR, CAR_RED, TRUCK, LOG, BIRD, SNAKE, FROG, FROG_LEFT, FROG_RIGHT, FROG_REAR,
+            GRASS, WATER, ROAD, GOAL, START, ROAD_MARK);
+
     // Sprites entities
-    static BufferedImage car()     { return load("assets/sprites/car.png"); }
-    static BufferedImage carRed()  { return load("assets/sprites/carRed.png"); } 
-    static BufferedImage truck()   { return load("assets/sprites/truck.png"); }
-    static BufferedImage log()     { return load("assets/sprites/log.png"); }
-    static BufferedImage bird()    { return load("assets/sprites/bird.png"); }
-    static BufferedImage snake()   { return load("assets/sprites/snake.png"); }
+    static BufferedImage car()     { return load(CAR); }
+    static BufferedImage carRed()  { return load(CAR_RED); } 
+    static BufferedImage truck()   { return load(TRUCK); }
+    static BufferedImage log()     { return load(LOG); }
+    static BufferedImage bird()    { return load(BIRD); }
+    static BufferedImage snake()   { return load(SNAKE); }
     // Frog avatar
-    static BufferedImage frog()      { return load("/assets/sprites/frog.png"); }
-    static BufferedImage frogLeft()  { return load("/assets/sprites/frogLeft.png"); }
-    static BufferedImage frogRight() { return load("/assets/sprites/frogRight.png"); }
-    static BufferedImage frogRear()  { return load("/assets/sprites/frogRear.png"); }
+    static BufferedImage frog()      { return load(FROG); }
+    static BufferedImage frogLeft()  { return load(FROG_LEFT); }
+    static BufferedImage frogRight() { return load(FROG_RIGHT); }
+    static BufferedImage frogRear()  { return load(FROG_REAR); }
 
     // Tiles
-    static BufferedImage tileGrass()    { return load("assets/tiles/grass.png"); }
-    static BufferedImage tileWater()    { return load("assets/tiles/water.png"); }
-    static BufferedImage tileRoad()     { return load("assets/tiles/road.png"); }
-    static BufferedImage tileGoal()     { return load("assets/tiles/goal.png"); }
-    static BufferedImage tileStart()    { return load("assets/tiles/start.png"); }
-    static BufferedImage tileRoadMark() { return load("assets/tiles/road_mark.png"); }
+    static BufferedImage tileGrass()    { return load(GRASS); }
+    static BufferedImage tileWater()    { return load(WATER); }
+    static BufferedImage tileRoad()     { return load(ROAD); }
+    static BufferedImage tileGoal()     { return load(GOAL); }
+    static BufferedImage tileStart()    { return load(START); }
+    static BufferedImage tileRoadMark() { return load(ROAD_MARK); }
+
+    // Display-ready sprites; built by preload(), which this starts and waits for if nobody has yet
+    static SpriteAtlas atlas() {
+        SpriteAtlas a = atlas;
+        return (a != null) ? a : preload().join();
+    }
+
+    // Copy of src in the screen's compatible translucent format at exactly w x h, mirrored if flip. Null in, null out.
+    static BufferedImage prepare(BufferedImage src, int w, int h, boolean flip) {
+        if (src == null) return null;
+        BufferedImage out = GraphicsEnvironment.isHeadless()
+                ? new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB)
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDefaultConfiguration().createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        Graphics2D g = out.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        // Same sampling the per-frame scaled draws used, so sprites look unchanged
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        if (flip) g.drawImage(src, w, 0, -w, h, null);
+        else      g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
 }
@@ -0,0 +1,166 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Headless batch runs: N independent Level 1 games across all cores, for tuning the density scales without playing. //
+// Run: java BatchRunner [--sims N] [--ticks T] [--seed S] [--policy random|up|cautious] [--hop-every K]
+//                       [--traffic X] [--logs X] [--critters X] [--threads N]
+// Each game i runs from seed S+i until the frog reaches the goal, the game is over (lives run out) or T ticks pass.
+class BatchRunner {
+    // Frog policies
+    static final int RANDOM   = 0; // random hop every hopEvery ticks, biased toward the goal
+    static final int UP       = 1; // scripted: hop up every hopEvery ticks, no looking
+    static final int CAUTIOUS = 2; // hop up only when the row above looks safe, at most every hopEvery ticks
+    static final String[] POLICY_NAMES = {"random", "up", "cautious"};
+
+    // How a game ended
+    static final int GOAL = 0, GAME_OVER = 1, TIMEOUT = 2;
+
+    int sims = 10_000;
+    int maxTicks = 60 * 60 * 3; // three minutes of play at 60 Hz
+    long seed = 1;
+    int policy = CAUTIOUS;
+    int hopEvery = 12;
+    double trafficScale = Double.NaN, logDensityScale = Double.NaN, critterDensityScale = Double.NaN; // NaN = level file's
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    // One finished game
+    static final class Result {
+        int outcome, ticks, score;
+        final int[] deaths = new int[3];
+    }
+
+    // Aggregate over many games; merge() makes it a parallel-stream collector
+    static final class Stats {
+        int sims, goals, gameOvers, timeouts;
+        long ticks, goalTicks, score;
+        final long[] deaths = new long[3];
+        int fastestGoal = Integer.MAX_VALUE;
+
+        void add(Result r) {
+            sims++;
+            ticks += r.ticks;
+            score += r.score;
+            for (int i = 0; i < deaths.length; i++) deaths[i] += r.deaths[i];
+            switch (r.outcome) {
+                case GOAL -> { goals++; goalTicks += r.ticks; fastestGoal = Math.min(fastestGoal, r.ticks); }
+                case GAME_OVER -> gameOvers++;
+                default -> timeouts++;
+            }
+        }
+
+        void merge(Stats o) {
+            sims += o.sims; goals += o.goals; gameOvers += o.gameOvers; timeouts += o.timeouts;
+            ticks += o.ticks; goalTicks += o.goalTicks; score += o.score;
+            for (int i = 0; i < deaths.length; i++) deaths[i] += o.deaths[i];
+            fastestGoal = Math.min(fastestGoal, o.fastestGoal);
+        }
+    }
+
+    Stats run() {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> IntStream.range(0, sims).parallel()
+                    .mapToObj(i -> play(seed + i))
+                    .collect(Stats::new, Stats::add, Stats::merge)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // One game, start to finish, on the calling thread
+    Result play(long gameSeed) {
+        World world = new World(gameSeed);
+        world.trafficScale = trafficScale;
+        world.logDensityScale = logDensityScale;
+        world.critterDensityScale = critterDensityScale;
+        world.setupLevel();
+
+        Random moves = new Random(gameSeed * 0x9E3779B97F4A7C15L); // policy randomness stays apart from the world's
+        Result r = new Result();
+        int lastHop = -hopEvery, score = 0;
+        r.outcome = TIMEOUT;
+        while (world.ticks < maxTicks) {
+            if (world.ticks - lastHop >= hopEvery) {
+                int action = choose(world, moves);
+                if (action >= 0) { world.press(action); lastHop = world.ticks; }
+            }
+            world.step();
+            if (world.gameOvers > 0) { r.outcome = GAME_OVER; break; } // World has already reset the score; keep the last one
+            score = world.frog.score;
+            if (world.goalTick >= 0) { r.outcome = GOAL; break; }
+        }
+        r.ticks = world.ticks;
+        r.score = score;
+        System.arraycopy(world.deaths, 0, r.deaths, 0, r.deaths.length);
+        return r;
+    }
+
+    // Next input for the frog, or -1 to wait
+    private int choose(World world, Random moves) {
+        return switch (policy) {
+            case UP -> World.HOP_UP;
+            case RANDOM -> {
+                int roll = moves.nextInt(10);
+                if (roll < 5) yield World.HOP_UP;
+                if (roll < 7) yield World.HOP_LEFT;
+                if (roll < 9) yield World.HOP_RIGHT;
+                yield World.HOP_DOWN;
+            }
+            default -> safeAbove(world) ? World.HOP_UP : -1;
+        };
+    }
+
+    // Would a hop up land somewhere survivable right now? Road and critter rows need a clear tile's margin around
+    // the frog, river rows need a log under most of it.
+    private static boolean safeAbove(World world) {
+        Frog f = world.frog;
+        Lane lane = world.laneAt(Math.floorDiv(f.y - World.TILE, World.TILE));
+        if (lane == null) return true;
+        if (lane.kind == Lane.RIVER) return lane.actors.overlapping(f.x + f.w / 4, f.w / 2, 0) >= 0;
+        return lane.actors.overlapping(f.x, f.w, World.TILE) < 0;
+    }
+
+    void print(Stats s, double seconds) {
+        System.out.printf("%d games, policy=%s hopEvery=%d, traffic=%s logs=%s critters=%s, seed %d..%d%n",
+                s.sims, POLICY_NAMES[policy], hopEvery, scale(trafficScale), scale(logDensityScale), scale(critterDensityScale),
+                seed, seed + sims - 1);
+        System.out.printf("  goal       %6d (%.1f%%)%n", s.goals, 100.0 * s.goals / s.sims);
+        System.out.printf("  game over  %6d (%.1f%%)%n", s.gameOvers, 100.0 * s.gameOvers / s.sims);
+        System.out.printf("  timeout    %6d (%.1f%%)%n", s.timeouts, 100.0 * s.timeouts / s.sims);
+        System.out.printf("  deaths/game: run over %.2f, drowned %.2f, critter %.2f%n",
+                s.deaths[Lane.ROAD] / (double) s.sims, s.deaths[Lane.RIVER] / (double) s.sims,
+                s.deaths[Lane.CRITTER] / (double) s.sims);
+        System.out.printf("  avg score %.1f%n", s.score / (double) s.sims);
+        if (s.goals > 0) {
+            System.out.printf("  ticks to goal: avg %.0f (%.1fs), fastest %d%n",
+                    s.goalTicks / (double) s.goals, s.goalTicks / (double) s.goals / 60, s.fastestGoal);
+        }
+        System.out.printf("  %d ticks in %.2fs on %d threads (%.0f ticks/s)%n", s.ticks, seconds, threads, s.ticks / seconds);
+    }
+
+    private static String scale(double v) { return Double.isNaN(v) ? "level" : String.format("%.2f", v); }
+
+    public static void main(String[] args) {
+        BatchRunner b = new BatchRunner();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sims" -> b.sims = Integer.parseInt(args[++i]);
+                case "--ticks" -> b.maxTicks = Integer.parseInt(args[++i]);
+                case "--seed" -> b.seed = Long.parseLong(args[++i]);
+                case "--policy" -> b.policy = java.util.Arrays.asList(POLICY_NAMES).indexOf(args[++i]);
+                case "--hop-every" -> b.hopEvery = Integer.parseInt(args[++i]);
+                case "--traffic" -> b.trafficScale = Double.parseDouble(args[++i]);
+                case "--logs" -> b.logDensityScale = Double.parseDouble(args[++i]);
+                case "--critters" -> b.critterDensityScale = Double.parseDouble(args[++i]);
+                case "--threads" -> b.threads = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        if (b.policy < 0) throw new IllegalArgumentException("policy must be one of " + String.join(", ", POLICY_NAMES));
+
+        long t0 = System.nanoTime();
+        Stats s = b.run();
+        b.print(s, (System.nanoTime() - t0) / 1e9);
+    }
+}
@@ -0,0 +1,89 @@
+import java.awt.*;
+
+// Works out which parts of GamePanel changed since the last frame and repaints only those: per lane the span its actors //
+// covered then and cover now, each frog's old and new box, the HUD row when its text changed, the help box when toggled.
+// A tick where nothing moved (paused, or still loading) repaints nothing. Camera moves and level changes repaint it all.
+class DirtyRegions {
+    private final World world;
+    private final WorldRenderer renderer;
+
+    // Last frame, in board pixels: per row the x and y span of the lane's actors on screen (x0 > x1 when empty)
+    private int[] x0 = new int[0], x1 = new int[0], y0 = new int[0], y1 = new int[0];
+    private final Rectangle[] frogs = new Rectangle[World.MAX_FROGS];
+    private int frogCount;
+    private int ticks = -1, cam, level, lives, score;
+    private boolean paused, showHelp, full = true;
+
+    DirtyRegions(World world, WorldRenderer renderer) {
+        this.world = world;
+        this.renderer = renderer;
+    }
+
+    // Next frame repaints everything (loading screen, overlays this class doesn't track)
+    void invalidate() { full = true; }
+
+    void repaint(Component c, boolean paused, boolean showHelp) {
+        int cam = renderer.cameraY();
+        if (x0.length != world.laneByRow.length) full = true;
+        if (cam != this.cam || world.level != level || world.frogCount != frogCount) full = true;
+
+        Frog me = world.frog;
+        if (!full) {
+            if (me.lives != lives || me.score != score || paused != this.paused)
+                c.repaint(0, 0, World.WIDTH, World.TILE);
+            if (showHelp != this.showHelp) {
+                Rectangle b = WorldRenderer.helpBounds(world.freePlay); // full rows: the text can run past the box
+                c.repaint(0, b.y, World.WIDTH, b.height + 1);
+            }
+        }
+
+        boolean moved = world.ticks != ticks;
+        if (full || moved) {
+            // A frog can turn without moving, so its box is repainted on every step
+            for (int i = 0; i < world.frogCount; i++) {
+                Frog f = world.frogs[i];
+                if (frogs[i] == null) frogs[i] = new Rectangle();
+                if (!full) {
+                    Rectangle r = frogs[i].union(new Rectangle(f.x, f.y, f.w, f.h));
+                    c.repaint(r.x, r.y - cam, r.width, r.height);
+                }
+                frogs[i].setBounds(f.x, f.y, f.w, f.h);
+            }
+            lanes(c, cam);
+        }
+
+        if (full) c.repaint();
+        full = false;
+        this.cam = cam; ticks = world.ticks;
+        level = world.level; lives = me.lives; score = me.score; frogCount = world.frogCount;
+        this.paused = paused; this.showHelp = showHelp;
+    }
+
+    // One rectangle per lane in view: the union of where its actors were drawn and where they are now. Rows out of view
+    // keep stale spans, which is fine: bringing them into view moves the camera, and that repaints everything.
+    private void lanes(Component c, int cam) {
+        int n = world.laneByRow.length;
+        if (x0.length != n) { x0 = new int[n]; x1 = new int[n]; y0 = new int[n]; y1 = new int[n]; }
+        int firstRow = cam / World.TILE, lastRow = Math.min(world.rows - 1, (cam + World.HEIGHT - 1) / World.TILE);
+        for (int r = firstRow; r <= lastRow; r++) {
+            Lane lane = world.freePlay ? null : world.laneAt(r);
+            int nx0 = Integer.MAX_VALUE, nx1 = Integer.MIN_VALUE, ny0 = Integer.MAX_VALUE, ny1 = Integer.MIN_VALUE;
+            if (lane != null) {
+                LaneActors a = lane.actors;
+                for (int i = a.firstReaching(0, 0); i < a.count; i++) {
+                    int x = (int) a.x(i);
+                    if (x >= World.WIDTH) break;
+                    int y = lane.y + LaneActors.Y_OFFSET[a.kind[i]];
+                    nx0 = Math.min(nx0, x); nx1 = Math.max(nx1, x + a.w[i]);
+                    ny0 = Math.min(ny0, y); ny1 = Math.max(ny1, y + a.h[i]);
+                }
+            }
+            if (!full) {
+                int ux0 = Math.max(0, Math.min(nx0, x0[r])), ux1 = Math.min(World.WIDTH, Math.max(nx1, x1[r]));
+                int uy0 = Math.min(ny0, y0[r]), uy1 = Math.max(ny1, y1[r]);
+                if (ux0 < ux1) c.repaint(ux0, uy0 - cam, ux1 - ux0, uy1 - uy0);
+            }
+            x0[r] = nx0; x1[r] = nx1; y0[r] = ny0; y1[r] = ny1;
+        }
+    }
+}
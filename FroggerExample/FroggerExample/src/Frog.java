@@ -2,8 +2,8 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 
 class Frog {
-    // Match GamePanel constants
-    static final int TILE = GamePanel.TILE;
+    // Match World constants
+    static final int TILE = World.TILE;
 
     int x, y;
     int w = TILE - 4;
@@ -11,24 +11,18 @@ class Frog {
 
     boolean alive = true;
 
+    // Per player: a shared board keeps these for each of its frogs
+    int lives = 3;
+    int score = 0;
+    int bestRowY;          // highest row reached since the last respawn; moving above it scores
+    double carry;          // px per tick the log under it moved it last step (0 off the river), for drawing between ticks
+
     private enum Dir { LEFT, RIGHT, UP, DOWN }
     private Dir facing = Dir.UP; // default = forward (toward goal)
 
-    // Sprites
-    private final BufferedImage sprFront; // frog.png  (forward/toward goal)
-    private final BufferedImage sprLeft;  // frogLeft.png
-    private final BufferedImage sprRight; // frogRight.png
-    private final BufferedImage sprRear;  // frogRear.png (back/toward screen)
-
     Frog(int startX, int startY) {
         this.x = startX;
         this.y = startY;
-
-        // Load once
-        sprFront = Assets.frog();       
-        sprLeft  = Assets.frogLeft();    
-        sprRight = Assets.frogRight();   
-        sprRear  = Assets.frogRear();    
     }
 
     void update() {
@@ -49,17 +43,25 @@ class Frog {
         else if (dy < 0) facing = Dir.DOWN;   // backwards toward player
     }
 
-    void clampToBoard(int width) {
+    void clampToBoard(int width, int height) { clampToBoard(width, height, World.TILE); } // keep below HUD
+
+    void clampToBoard(int width, int height, int minY) {
         if (x < 0) x = 0;
         if (x + w > width) x = width - w;
-        if (y < GamePanel.TILE) y = GamePanel.TILE; // keep below HUD
-        int maxY = GamePanel.HEIGHT - h;
+        if (y < minY) y = minY;
+        int maxY = height - h;
         if (y > maxY) y = maxY;
     }
 
-    Rectangle bounds() { return new Rectangle(x, y, w, h); }
-
-    void draw(Graphics2D g) {
+    // alpha: fraction of a tick since the last step; a frog riding a log is drawn that far along with it, like the log
+    void draw(Graphics2D g, double alpha) {
+        int x = Math.max(0, Math.min(World.WIDTH - w, this.x + (int) Math.round(carry * alpha)));
+        // Sprites are looked up at draw time (prebuilt in the atlas) so headless World never touches images
+        SpriteAtlas atlas = Assets.atlas();
+        BufferedImage sprFront = atlas.frogFront; // frog.png  (forward/toward goal)
+        BufferedImage sprLeft  = atlas.frogLeft;  // frogLeft.png
+        BufferedImage sprRight = atlas.frogRight; // frogRight.png
+        BufferedImage sprRear  = atlas.frogRear;  // frogRear.png (back/toward screen)
         BufferedImage use = switch (facing) {
             case LEFT  -> (sprLeft  != null ? sprLeft  : sprFront);
             case RIGHT -> (sprRight != null ? sprRight : sprFront);
@@ -68,7 +70,7 @@ class Frog {
         };
 
         if (use != null) {
-            g.drawImage(use, x, y, w, h, null);
+            g.drawImage(use, x, y, null);
         } else {
             // Fallback box if images missing
             g.setColor(new Color(56, 196, 96));
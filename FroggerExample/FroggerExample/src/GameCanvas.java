@@ -0,0 +1,123 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.CompletableFuture;
+
+// Active-rendering front end: a dedicated loop thread steps World at a fixed 60 Hz and page-flips interpolated frames //
+// through a BufferStrategy at the display's refresh rate. Selected with `App --active`; GamePanel stays the default.
+class GameCanvas extends Canvas implements Runnable {
+    static final int TICKS_PER_SECOND = 60;
+    private static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+    private static final int MAX_CATCH_UP = 5; // ticks per frame before we drop time (debugger pause, slow VM hiccup)
+
+    private final World world;
+    private final WorldRenderer renderer;
+    private final CompletableFuture<SpriteAtlas> assets;
+    private final InputQueue input = new InputQueue(); // EDT -> loop thread
+    private final java.util.function.IntConsumer onKey = this::key;
+
+    private volatile boolean running;
+    private Thread loop;
+
+    // Loop thread only
+    private boolean paused = false;
+    private boolean showHelp = true;
+    private boolean showMetrics = false;
+
+    GameCanvas(World world) {
+        this.world = world;
+        this.renderer = new WorldRenderer(world);
+        setPreferredSize(new Dimension(World.WIDTH, World.HEIGHT));
+        setFocusable(true);
+        setBackground(WorldRenderer.BACKGROUND);
+        setIgnoreRepaint(true); // we own every frame; AWT paint events would only flicker
+        addKeyListener(input);
+        addFocusListener(input);
+        assets = Assets.preload();
+        Metrics.installFromSystemProperty(world);
+    }
+
+    // Must be called once the canvas is displayable (after the frame is shown)
+    void start() {
+        if (loop != null) return;
+        createBufferStrategy(2);
+        running = true;
+        loop = new Thread(this, "frogger-loop");
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    void stop() { running = false; }
+
+    @Override public void run() {
+        BufferStrategy bs = getBufferStrategy();
+        long frameNanos = 1_000_000_000L / refreshRate();
+        long prev = System.nanoTime();
+        long acc = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            acc += now - prev;
+            prev = now;
+
+            // Fixed-timestep simulation: as many whole ticks as real time allows. The clock holds still while loading.
+            int steps = 0;
+            if (!assets.isDone()) acc = 0;
+            while (acc >= TICK_NANOS) {
+                world.metrics.tickStarted(TICK_NANOS);
+                input.drain(onKey);
+                if (!paused) world.step();
+                acc -= TICK_NANOS;
+                if (++steps == MAX_CATCH_UP) { acc = 0; break; }
+            }
+
+            // Render wherever we are between two ticks
+            double alpha = paused ? 0 : acc / (double) TICK_NANOS;
+            render(bs, alpha);
+
+            long sleep = frameNanos - (System.nanoTime() - now);
+            if (sleep > 0) {
+                try { Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000)); }
+                catch (InterruptedException e) { return; }
+            }
+        }
+    }
+
+    private void render(BufferStrategy bs, double alpha) {
+        do {
+            do {
+                Graphics2D g = (Graphics2D) bs.getDrawGraphics();
+                long t = world.metrics.mark();
+                try {
+                    if (!assets.isDone()) renderer.renderLoading(g, Assets.loaded(), Assets.total());
+                    else {
+                        renderer.render(g, getGraphicsConfiguration(), alpha, paused, showHelp);
+                        if (showMetrics) MetricsOverlay.draw(g, world);
+                    }
+                } finally { g.dispose(); }
+                world.metrics.lap(Metrics.RENDER, t);
+            } while (bs.contentsRestored());
+            bs.show();
+        } while (bs.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // flush queued pipeline work so frames don't bunch up (X11)
+    }
+
+    private int refreshRate() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        int hz = (gc != null) ? gc.getDevice().getDisplayMode().getRefreshRate() : DisplayMode.REFRESH_RATE_UNKNOWN;
+        return (hz == DisplayMode.REFRESH_RATE_UNKNOWN) ? TICKS_PER_SECOND : hz;
+    }
+
+    // Input arrives on the EDT; the loop thread drains it at the start of each tick
+    private void key(int code) {
+        switch (code) {
+            case KeyEvent.VK_LEFT -> world.press(World.HOP_LEFT);
+            case KeyEvent.VK_RIGHT -> world.press(World.HOP_RIGHT);
+            case KeyEvent.VK_UP -> world.press(World.HOP_UP);
+            case KeyEvent.VK_DOWN -> world.press(World.HOP_DOWN);
+            case KeyEvent.VK_P -> paused = !paused;
+            case KeyEvent.VK_H -> showHelp = !showHelp;
+            case KeyEvent.VK_F3 -> { showMetrics = !showMetrics; world.metrics.enabled |= showMetrics; }
+        }
+    }
+}
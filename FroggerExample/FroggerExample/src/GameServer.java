@@ -0,0 +1,409 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Authoritative headless server: each room runs its own World at 60 Hz with a frog per player (up to World.MAX_FROGS), //
+// takes hops from its players over TCP and sends them delta snapshots (see Snapshot) against the last one each client
+// acknowledged.
+// Run: java GameServer [--port 7777] [--selectors N] [--seed S] [--snapshot-every K]
+//
+// One selector thread per core (by default) owns a share of the rooms and every connection in them, so a room's World,
+// its clients and their buffers are only ever touched by one thread and nothing is locked. Rooms live on selector
+// roomId mod N; a connection that says hello to a room owned elsewhere is handed to that selector.
+//
+// Frames both ways: length (int, counting the type byte), type (byte), payload.
+//   client -> server  HELLO room (int)    INPUT action (byte, World.HOP_*)    ACK snapshot tick (int)
+//                     (any other length or type drops the client)
+//   server -> client  WELCOME room (int), seed (long), levels CRC (long), frog (int)    SNAPSHOT a Snapshot delta
+// A client's frog index can change when another player leaves (World.removeFrog); the next WELCOME says so.
+class GameServer implements AutoCloseable {
+    static final byte HELLO = 1, INPUT = 2, ACK = 3;   // from clients
+    static final byte WELCOME = 1, SNAPSHOT = 2;       // to clients
+    static final int TICKS_PER_SECOND = 60;
+    private static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+    private static final int MAX_CATCH_UP = 5;         // ticks per wake before we drop time
+    private static final int HISTORY = 16;             // snapshots kept per room as delta baselines
+    private static final int MAX_BACKLOG = 256 * 1024; // unsent bytes after which a client's snapshots are skipped
+    private static final int MAX_FRAME = 64;           // client frames are tiny; anything bigger is a broken client
+
+    final long seed;
+    int snapshotEvery = 3; // ticks between snapshots: 20 Hz
+    private final ServerSocketChannel server;
+    private final Loop[] loops;
+    private int nextLoop;  // round-robin for new connections (acceptor thread only)
+
+    // Counters for the status line, summed over loops
+    final AtomicLong ticks = new AtomicLong(), snapshots = new AtomicLong(), fullSnapshots = new AtomicLong(),
+                     bytesOut = new AtomicLong();
+
+    GameServer(int port, int selectors, long seed) throws IOException {
+        this.seed = seed;
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        loops = new Loop[Math.max(selectors, 1)];
+        for (int i = 0; i < loops.length; i++) loops[i] = new Loop(i);
+        server.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+    }
+
+    int port() throws IOException { return ((InetSocketAddress) server.getLocalAddress()).getPort(); }
+
+    void start() {
+        for (Loop l : loops) {
+            Thread t = new Thread(l, "server-loop-" + l.index);
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    int rooms() {
+        int n = 0;
+        for (Loop l : loops) n += l.roomCount;
+        return n;
+    }
+
+    int clients() {
+        int n = 0;
+        for (Loop l : loops) n += l.clientCount;
+        return n;
+    }
+
+    @Override public void close() throws IOException {
+        for (Loop l : loops) { l.closed = true; l.selector.wakeup(); }
+        server.close();
+    }
+
+    // Same room id, same game: rooms are seeded from the server seed
+    long roomSeed(int room) { return seed * 0x9E3779B97F4A7C15L + room; }
+
+    private Loop owner(int room) { return loops[Math.floorMod(room, loops.length)]; }
+
+    // One game
+    static final class Room {
+        final int id;
+        final World world;
+        final List<Conn> conns = new ArrayList<>();
+        final Snapshot[] history = new Snapshot[HISTORY];
+
+        Room(int id, long seed) {
+            this.id = id;
+            this.world = new World(seed);
+        }
+
+        // The snapshot taken at tick, if it is still kept
+        Snapshot at(int tick, int every) {
+            if (tick < 0) return null;
+            Snapshot s = history[(tick / every) % HISTORY];
+            return (s != null && s.tick == tick) ? s : null;
+        }
+    }
+
+    // One client connection; owned by one loop at a time
+    static final class Conn {
+        final SocketChannel ch;
+        final ByteBuffer in = ByteBuffer.allocate(1024);
+        ByteBuffer out = ByteBuffer.allocate(8 * 1024);
+        SelectionKey key;
+        Room room;
+        int helloRoom = -1;  // set when handed over between loops, before the room is joined
+        int acked = -1;      // newest snapshot tick the client has confirmed
+        int frog;            // its frog in room.world
+        boolean failed;      // a write failed; dropped once the loop is outside its room iteration
+        int sent = -1;       // newest snapshot tick queued to it
+
+        Conn(SocketChannel ch) { this.ch = ch; }
+    }
+
+    private final class Loop implements Runnable {
+        final int index;
+        final Selector selector;
+        final ConcurrentLinkedQueue<Conn> adopt = new ConcurrentLinkedQueue<>(); // connections handed to this loop
+        final Map<Integer, Room> rooms = new HashMap<>();
+        volatile int roomCount, clientCount;
+        volatile boolean closed;
+        private final List<byte[]> deltaCache = new ArrayList<>(); // this tick's encodings, by baseline
+        private final List<Snapshot> deltaBases = new ArrayList<>();
+        private final List<Conn> failed = new ArrayList<>();
+
+        Loop(int index) throws IOException {
+            this.index = index;
+            selector = Selector.open();
+        }
+
+        void handOver(Conn c) {
+            adopt.add(c);
+            selector.wakeup();
+        }
+
+        @Override public void run() {
+            long next = System.nanoTime() + TICK_NANOS;
+            try {
+                while (!closed) {
+                    long wait = next - System.nanoTime();
+                    if (wait > 1_000_000) selector.select(wait / 1_000_000);
+                    else selector.selectNow();
+
+                    Conn c;
+                    while ((c = adopt.poll()) != null) {
+                        try {
+                            adopted(c);
+                        } catch (IOException | RuntimeException e) { // closed while in flight, or a frame we choke on
+                            drop(c);
+                        }
+                    }
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey k = it.next();
+                        it.remove();
+                        if (!k.isValid()) continue;
+                        if (k.isAcceptable()) accept();
+                        else {
+                            Conn conn = (Conn) k.attachment();
+                            try {
+                                if (k.isReadable()) read(conn);
+                                if (k.isValid() && k.isWritable()) flush(conn);
+                            } catch (RuntimeException e) {
+                                // Whatever one client's bytes trip costs that client, not the loop and its rooms
+                                System.err.println("server: dropping a client: " + e);
+                                drop(conn);
+                            }
+                        }
+                    }
+
+                    int steps = 0;
+                    for (long now = System.nanoTime(); now >= next; next += TICK_NANOS) {
+                        tick();
+                        if (++steps == MAX_CATCH_UP) { next = now + TICK_NANOS; break; }
+                    }
+                    for (int i = 0; i < failed.size(); i++) drop(failed.get(i)); // drop() can fail more writes
+                    failed.clear();
+                }
+            } catch (IOException e) {
+                System.err.println("server: loop " + index + " stopped: " + e);
+            } finally {
+                try { selector.close(); } catch (IOException ignored) {}
+            }
+        }
+
+        private void accept() throws IOException {
+            SocketChannel ch;
+            while ((ch = server.accept()) != null) {
+                ch.configureBlocking(false);
+                ch.socket().setTcpNoDelay(true);
+                loops[nextLoop++ % loops.length].handOver(new Conn(ch));
+            }
+        }
+
+        private void adopted(Conn c) throws IOException {
+            c.key = c.ch.register(selector, SelectionKey.OP_READ, c);
+            clientCount++;
+            if (c.helloRoom >= 0 && !join(c, c.helloRoom)) return;
+            read(c); // anything that arrived while it was in flight
+        }
+
+        private void read(Conn c) {
+            try {
+                if (c.ch.read(c.in) < 0) { drop(c); return; }
+            } catch (IOException e) {
+                drop(c);
+                return;
+            }
+            ByteBuffer in = c.in;
+            in.flip();
+            while (in.remaining() >= 4) {
+                int len = in.getInt(in.position());
+                if (len < 1 || len > MAX_FRAME) { drop(c); return; }
+                if (in.remaining() < 4 + len) break;
+                in.getInt();
+                int end = in.position() + len;
+                byte type = in.get();
+                if (len != frameLength(type)) { drop(c); return; }
+                switch (type) {
+                    case HELLO -> {
+                        int room = in.getInt();
+                        if (c.room != null || room < 0) { drop(c); return; }
+                        Loop owner = owner(room);
+                        if (owner != this) {
+                            // The rest of the buffer goes with it; the new owner picks it up in adopted()
+                            in.position(end);
+                            in.compact();
+                            c.key.cancel();
+                            c.helloRoom = room;
+                            clientCount--;
+                            owner.handOver(c);
+                            return;
+                        }
+                        if (!join(c, room)) return;
+                    }
+                    case INPUT -> {
+                        int action = in.get();
+                        if (c.room != null && action >= World.HOP_LEFT && action <= World.HOP_DOWN) c.room.world.press(c.frog, action);
+                    }
+                    case ACK -> c.acked = Math.max(c.acked, in.getInt());
+                    default -> { drop(c); return; }
+                }
+                in.position(end);
+            }
+            in.compact();
+        }
+
+        // Length field of each client frame type (type byte + payload), or -1 for a type clients don't send
+        private static int frameLength(byte type) {
+            return switch (type) {
+                case HELLO, ACK -> 1 + 4;
+                case INPUT -> 1 + 1;
+                default -> -1;
+            };
+        }
+
+        // The first player gets the room's own frog, later ones a new one; a full room turns the client away
+        private boolean join(Conn c, int id) {
+            c.helloRoom = -1;
+            Room room = rooms.get(id);
+            if (room == null) {
+                room = new Room(id, roomSeed(id));
+                rooms.put(id, room);
+                roomCount = rooms.size();
+            }
+            int frog = room.conns.isEmpty() ? 0 : room.world.addFrog();
+            if (frog < 0) { drop(c); return false; }
+            room.conns.add(c);
+            c.room = room;
+            c.frog = frog;
+            welcome(c);
+            return true;
+        }
+
+        private void welcome(Conn c) {
+            World w = c.room.world;
+            frame(c, WELCOME, 4 + 8 + 8 + 4).putInt(c.room.id).putLong(w.seed).putLong(w.plan.sourceCrc).putInt(c.frog);
+            flush(c);
+        }
+
+        private void drop(Conn c) {
+            if (!c.ch.isOpen()) return; // already dropped
+            c.key.cancel();
+            try { c.ch.close(); } catch (IOException ignored) {}
+            clientCount--;
+            Room room = c.room;
+            if (room == null) return;
+            room.conns.remove(c);
+            c.room = null;
+            if (room.conns.isEmpty()) {
+                rooms.remove(room.id);
+                roomCount = rooms.size();
+                return;
+            }
+            // Its frog leaves with it; the last frog moves into the gap
+            int last = room.world.frogCount - 1;
+            room.world.removeFrog(c.frog);
+            for (Conn other : room.conns) {
+                if (other.frog == last) { other.frog = c.frog; welcome(other); }
+            }
+        }
+
+        private void tick() {
+            long bytes = 0, snaps = 0, full = 0;
+            for (Room room : rooms.values()) {
+                room.world.step();
+                if (room.world.ticks % snapshotEvery != 0) continue;
+
+                Snapshot snap = Snapshot.of(room.world);
+                room.history[(snap.tick / snapshotEvery) % HISTORY] = snap;
+                deltaCache.clear();
+                deltaBases.clear();
+                for (int i = 0; i < room.conns.size(); i++) {
+                    Conn c = room.conns.get(i);
+                    if (c.failed || c.out.position() > MAX_BACKLOG) continue; // slow reader: it catches up from a later baseline
+                    // A client too far behind to have acked anything still kept gets a delta against the last snapshot
+                    // queued to it: TCP delivers in order, so it has applied that one by the time it reads this
+                    Snapshot base = room.at(c.acked, snapshotEvery);
+                    if (base == null) base = room.at(c.sent, snapshotEvery);
+                    byte[] delta = cachedDelta(snap, base);
+                    frame(c, SNAPSHOT, delta.length).put(delta);
+                    c.sent = snap.tick;
+                    flush(c);
+                    bytes += 5 + delta.length;
+                    snaps++;
+                    if (base == null) full++;
+                }
+            }
+            ticks.addAndGet(rooms.size());
+            if (snaps > 0) {
+                snapshots.addAndGet(snaps);
+                fullSnapshots.addAndGet(full);
+                bytesOut.addAndGet(bytes);
+            }
+        }
+
+        // Clients of a room mostly ack the same snapshot, so each baseline is encoded once per tick
+        private byte[] cachedDelta(Snapshot snap, Snapshot base) {
+            for (int i = 0; i < deltaBases.size(); i++) if (deltaBases.get(i) == base) return deltaCache.get(i);
+            byte[] d = snap.delta(base);
+            deltaBases.add(base);
+            deltaCache.add(d);
+            return d;
+        }
+
+        // c's output buffer with a frame header written and room for payload more bytes
+        private ByteBuffer frame(Conn c, byte type, int payload) {
+            int need = 4 + 1 + payload;
+            if (c.out.remaining() < need) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(c.out.capacity() * 2, c.out.position() + need));
+                c.out.flip();
+                bigger.put(c.out);
+                c.out = bigger;
+            }
+            return c.out.putInt(1 + payload).put(type);
+        }
+
+        private void flush(Conn c) {
+            ByteBuffer out = c.out;
+            out.flip();
+            try {
+                if (!c.failed) c.ch.write(out);
+            } catch (IOException e) {
+                c.failed = true;
+                failed.add(c);
+            }
+            if (c.failed) {
+                out.clear();
+                return;
+            }
+            out.compact();
+            int ops = (out.position() > 0) ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+            if (c.key.isValid() && c.key.interestOps() != ops) c.key.interestOps(ops);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 7777, selectors = Runtime.getRuntime().availableProcessors(), every = 3;
+        long seed = new Random().nextLong();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--selectors" -> selectors = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--snapshot-every" -> every = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        GameServer s = new GameServer(port, selectors, seed);
+        s.snapshotEvery = every;
+        s.start();
+        System.out.printf("listening on %d, %d selector threads, seed %d%n", s.port(), selectors, seed);
+        long lastTicks = 0, lastBytes = 0;
+        while (true) {
+            Thread.sleep(10_000);
+            long t = s.ticks.get(), b = s.bytesOut.get();
+            System.out.printf("%d rooms, %d clients, %.0f room ticks/s, %.1f KB/s out%n",
+                    s.rooms(), s.clients(), (t - lastTicks) / 10.0, (b - lastBytes) / 10.0 / 1024);
+            lastTicks = t; lastBytes = b;
+        }
+    }
+}
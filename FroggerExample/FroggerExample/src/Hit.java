@@ -0,0 +1,13 @@
+// Allocation-free overlap tests on primitive boxes; same answers as Rectangle.intersects for non-empty boxes. //
+final class Hit {
+    private Hit() {}
+
+    // Half-open intervals [a, a+aLen) and [b, b+bLen) share at least one pixel
+    static boolean spans(int a, int aLen, int b, int bLen) {
+        return a < b + bLen && b < a + aLen;
+    }
+
+    static boolean boxes(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        return spans(ax, aw, bx, bw) && spans(ay, ah, by, bh);
+    }
+}
@@ -0,0 +1,80 @@
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+// Key events from the EDT to whichever thread steps the World, through a lock-free single-producer single-consumer ring. //
+// The listener only writes a slot and publishes it; the stepping thread drains everything queued at the start of its next
+// tick, so input lands on a tick boundary, at most one tick late, and neither side ever waits for the other.
+// OS auto-repeat is filtered out on the draining side: a press of a key that is still down, or one that follows its own
+// release within REPEAT_GAP_MS (X11 repeats as release/press pairs with the same timestamp), is dropped.
+class InputQueue implements KeyListener, FocusListener {
+    static final int CAPACITY = 64; // power of two; about a second of frantic typing between two ticks
+    private static final int MASK = CAPACITY - 1;
+    private static final int KEYS = 256;          // key codes tracked for repeats (VK_F3 is 114); others pass through
+    private static final long REPEAT_GAP_MS = 2;
+    private static final int RELEASE_ALL = -1;    // queued on focus loss: releases that happen elsewhere never arrive
+
+    // Ring slots, written by the producer before it publishes tail
+    private final int[] codes = new int[CAPACITY];
+    private final boolean[] downs = new boolean[CAPACITY];
+    private final long[] whens = new long[CAPACITY];
+    private final AtomicLong head = new AtomicLong(); // next slot to read; written by the consumer only
+    private final AtomicLong tail = new AtomicLong(); // next slot to write; written by the producer only
+    private volatile int dropped;                     // events lost to a full ring (producer writes, anyone reads)
+
+    // Consumer-side repeat state
+    boolean filterRepeats = true;
+    private final boolean[] held = new boolean[KEYS];
+    private final long[] releasedAt = new long[KEYS];
+
+    InputQueue() { Arrays.fill(releasedAt, Long.MIN_VALUE / 2); }
+
+    @Override public void keyPressed(KeyEvent e) { offer(e.getKeyCode(), true, e.getWhen()); }
+    @Override public void keyReleased(KeyEvent e) { offer(e.getKeyCode(), false, e.getWhen()); }
+    @Override public void keyTyped(KeyEvent e) {}
+    @Override public void focusGained(FocusEvent e) {}
+    @Override public void focusLost(FocusEvent e) { offer(RELEASE_ALL, false, 0); }
+
+    // Producer side (EDT). Never blocks: with the ring full the event is dropped and counted.
+    void offer(int code, boolean down, long when) {
+        long t = tail.get();
+        if (t - head.get() == CAPACITY) { dropped++; return; }
+        int i = (int) t & MASK;
+        codes[i] = code; downs[i] = down; whens[i] = when;
+        tail.lazySet(t + 1); // release store: the slot writes above are visible before the new tail
+    }
+
+    // Consumer side (the stepping thread): hands every queued press that isn't an auto-repeat to onPress, in order
+    void drain(IntConsumer onPress) {
+        long h = head.get(), t = tail.get();
+        if (h == t) return;
+        for (; h < t; h++) {
+            int i = (int) h & MASK;
+            int code = codes[i];
+            long when = whens[i];
+            if (code == RELEASE_ALL) {
+                Arrays.fill(held, false);
+                continue;
+            }
+            if (code < 0 || code >= KEYS) {
+                if (downs[i]) onPress.accept(code);
+                continue;
+            }
+            if (!downs[i]) {
+                held[code] = false;
+                releasedAt[code] = when;
+                continue;
+            }
+            boolean repeat = held[code] || when - releasedAt[code] <= REPEAT_GAP_MS;
+            held[code] = true;
+            if (!repeat || !filterRepeats) onPress.accept(code);
+        }
+        head.lazySet(t); // frees the slots for the producer
+    }
+
+    int dropped() { return dropped; }
+}
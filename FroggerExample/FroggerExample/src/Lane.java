@@ -1,12 +1,36 @@
 class Lane {
-    final int y;        // top pixel of the lane
-    final double speed; // +right, -left
-    final int spawnEveryTicks;
+    // Lane kinds
+    static final int ROAD = 0;
+    static final int RIVER = 1;
+    static final int CRITTER = 2;
+
+    // Not final: World keeps one Lane per row and reset()s it on every setupLevel() instead of reallocating
+    int kind;
+    int y;              // top pixel of the lane
+    int row;            // board row (y / TILE), the key World indexes lanes by
+    double speed;       // +right, -left
+    int spawnEveryTicks;
+    LevelPlan.LaneSpec spec; // what this lane spawns and how likely each attempt is
+    int lastTick;            // World.ticks when this lane last moved
+    int steps;               // ticks to advance this step(), set by World.scheduleLanes(); 0 = skipped (far lane)
     public int spawnEvery;
-    Lane(int y, double speed, int spawnEveryTicks) {
-        this.y = y;
-        this.speed = speed;
+    final LaneActors actors = new LaneActors(); // everything currently moving in this lane; storage survives reset()
+    final java.util.Random rng = new java.util.Random(); // this lane's spawns; private to the lane so lanes can tick in parallel
+
+    Lane(LevelPlan.LaneSpec spec, int spawnEveryTicks, long seed) {
+        reset(spec, spawnEveryTicks, seed);
+    }
+
+    // Reacquire for a new level or life: new parameters, empty lane, same arrays
+    Lane reset(LevelPlan.LaneSpec spec, int spawnEveryTicks, long seed) {
+        this.spec = spec;
+        this.kind = spec.kind;
+        this.row = spec.row;
+        this.y = spec.row * World.TILE;
+        this.speed = spec.speed;
         this.spawnEveryTicks = spawnEveryTicks;
+        rng.setSeed(seed);
+        actors.clear();
+        return this;
     }
 }
-
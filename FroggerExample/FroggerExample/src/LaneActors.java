@@ -0,0 +1,229 @@
+import java.util.Arrays;
+
+// Actors of one lane as parallel primitive arrays (structure-of-arrays), kept sorted by x so queries can binary search. //
+// Motion is analytic: an actor stores base, its x extrapolated back to lane tick 0, so at lane tick now it sits at
+// base + speed * now. Advancing a lane is one add; re-sorting, gap checks and trimming only run on the tick each is
+// next predicted to be needed, so a lane with nothing due costs nothing per tick.
+class LaneActors {
+    // Kinds
+    static final byte CAR     = 0;
+    static final byte CAR_RED = 1;
+    static final byte TRUCK   = 2;
+    static final byte LOG     = 3;
+    static final byte BIRD    = 4;
+    static final byte SNAKE   = 5;
+
+    // Top of each kind's sprite below lane.y (indexed by kind)
+    static final int[] Y_OFFSET = {5, 5, 5, 6, 7, 6};
+
+    // Spawn speed relative to the lane's, and the +/- fraction of random variation on top (indexed by kind)
+    static final double[] SPEED_FACTOR = {1, 1, 0.85, 1, 1.1, 0.9};
+    static final double[] SPEED_VARY   = {0.25, 0.25, 0.25, 0, 0, 0};
+
+    private static final int DUE = Integer.MIN_VALUE; // re-check on the next call
+
+    double[] base;
+    float[] speed;
+    short[] w, h;
+    byte[] kind;
+    int count;
+    int maxW; // widest actor added since clear(); bounds how far left a neighbour can reach
+    int now;  // lane clock: ticks advanced since clear()
+
+    // Earliest lane tick at which an overtake, a road gap violation or an actor leaving the board can happen
+    private int nextReorder = DUE, nextGapCheck = DUE, nextExpiry = DUE;
+    boolean eager; // run every check on every call regardless; LaneCheck compares the two
+
+    LaneActors() { this(16); } // a full 640px lane holds ~10 actors, so steady play never grows
+
+    LaneActors(int capacity) {
+        base = new double[capacity];
+        speed = new float[capacity];
+        w = new short[capacity];
+        h = new short[capacity];
+        kind = new byte[capacity];
+    }
+
+    double x(int i) { return base[i] + (double) speed[i] * now; }
+
+    // x at any lane tick, fractional ones included (render interpolation, fast-forward)
+    double xAt(int i, double tick) { return base[i] + (double) speed[i] * tick; }
+
+    // Inserts at its sorted position; spawns enter at a lane end, so the shift is usually empty or the whole lane
+    void add(double x0, double sp, int w0, int h0, byte k) {
+        if (count == base.length) grow();
+        int i = upperBound(x0);
+        int tail = count - i;
+        if (tail > 0) {
+            System.arraycopy(base, i, base, i + 1, tail);
+            System.arraycopy(speed, i, speed, i + 1, tail);
+            System.arraycopy(w, i, w, i + 1, tail);
+            System.arraycopy(h, i, h, i + 1, tail);
+            System.arraycopy(kind, i, kind, i + 1, tail);
+        }
+        speed[i] = (float) sp; base[i] = x0 - (double) speed[i] * now;
+        w[i] = (short) w0; h[i] = (short) h0; kind[i] = k;
+        if (w0 > maxW) maxW = w0;
+        count++;
+        nextReorder = nextGapCheck = nextExpiry = DUE;
+    }
+
+    void clear() {
+        count = 0; maxW = 0; now = 0;
+        nextReorder = nextGapCheck = nextExpiry = DUE;
+    }
+
+    // Moves everyone the given number of ticks; x order is only re-checked once an overtake can have happened
+    void update(int ticks) {
+        now += ticks;
+        if (eager || now >= nextReorder) restoreOrder();
+    }
+
+    // Insertion sort: actors rarely pass each other, so this is about one compare per slot
+    void restoreOrder() {
+        boolean moved = false;
+        for (int i = 1; i < count; i++) {
+            double xi = x(i);
+            if (x(i - 1) <= xi) continue;
+            double bi = base[i]; float si = speed[i]; short wi = w[i], hi = h[i]; byte ki = kind[i];
+            int j = i - 1;
+            while (j >= 0 && x(j) > xi) {
+                move(j, j + 1);
+                j--;
+            }
+            base[j + 1] = bi; speed[j + 1] = si; w[j + 1] = wi; h[j + 1] = hi; kind[j + 1] = ki;
+            moved = true;
+        }
+        if (moved) nextGapCheck = DUE;
+
+        // Next overtake: the first neighbour pair whose distance closes to zero
+        int next = Integer.MAX_VALUE;
+        for (int i = 1; i < count; i++) {
+            double closing = speed[i - 1] - speed[i];
+            if (closing > 0) next = Math.min(next, ticksUntil((x(i) - x(i - 1)) / closing));
+        }
+        nextReorder = next;
+    }
+
+    // Drops actors more than margin px past either board edge. Sorted order puts them at the two ends.
+    void trim(int width, int margin) {
+        if (!eager && now < nextExpiry) return;
+        while (count > 0 && x(count - 1) > width + margin) count--;
+
+        // Anything gone off the left has x < -margin; keep a wide one that hasn't fully left yet
+        int end = 0;
+        while (end < count && x(end) < -margin) end++;
+        int keep = 0;
+        for (int i = 0; i < end; i++) {
+            if (x(i) < -w[i] - margin) continue;
+            move(i, keep++);
+        }
+        int removed = end - keep;
+        if (removed > 0) {
+            int tail = count - end;
+            System.arraycopy(base, end, base, keep, tail);
+            System.arraycopy(speed, end, speed, keep, tail);
+            System.arraycopy(w, end, w, keep, tail);
+            System.arraycopy(h, end, h, keep, tail);
+            System.arraycopy(kind, end, kind, keep, tail);
+            count -= removed;
+        }
+
+        // Next exit: right movers past width + margin, left movers past -w - margin
+        int next = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            float s = speed[i];
+            if (s > 0) next = Math.min(next, ticksUntil((width + margin - x(i)) / s));
+            else if (s < 0) next = Math.min(next, ticksUntil((x(i) + w[i] + margin) / -s));
+        }
+        nextExpiry = next;
+    }
+
+    // Index of an actor whose [x-gap, x+w+gap) overlaps [qx, qx+qw), or -1. Only the sorted neighbourhood is visited.
+    int overlapping(int qx, int qw, int gap) {
+        for (int i = firstReaching(qx, gap); i < count; i++) {
+            int xi = (int) x(i);
+            if (xi - gap >= qx + qw) break;
+            if (Hit.spans(xi - gap, w[i] + 2 * gap, qx, qw)) return i;
+        }
+        return -1;
+    }
+
+    // First slot whose actor (grown by gap) could still reach qx; everything before it ends too far left
+    int firstReaching(int qx, int gap) {
+        return lowerBound(qx - maxW - gap - 1);
+    }
+
+    // First slot with x >= key
+    int lowerBound(double key) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (x(mid) < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First slot with x > key (equal x keeps insertion order)
+    private int upperBound(double key) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (x(mid) <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // Single-track spacing for road lanes: slots are x-sorted, so each pair of neighbours is checked once, in place.
+    // Same-direction pairs push the follower ahead of the leader; only a push to the left can break the order.
+    void resolveGaps(int minGap) {
+        if (!eager && now < nextGapCheck) return;
+        boolean pushed = false, pushedLeft = false;
+        for (int a = 0, b = 1; b < count; a++, b++) {
+            int needed = ((int) x(a) + w[a] + minGap) - (int) x(b);
+            if (needed <= 0) continue;
+            pushed = true;
+            float sa = speed[a], sb = speed[b];
+            if (Math.signum(sa) == Math.signum(sb)) {
+                if (sa > 0) base[b] += needed;
+                else      { base[a] -= needed; pushedLeft = true; }
+            } else {
+                base[a] -= needed / 2.0;
+                base[b] += needed / 2.0;
+                pushedLeft = true;
+            }
+        }
+        if (pushed) nextReorder = nextExpiry = DUE;
+        if (pushedLeft) restoreOrder();
+
+        // Next violation: the first pair to close within minGap, less the 2px the int truncation above can eat
+        int next = Integer.MAX_VALUE;
+        for (int i = 1; i < count; i++) {
+            double slack = x(i) - (x(i - 1) + w[i - 1] + minGap) - 2;
+            double closing = speed[i - 1] - speed[i];
+            if (slack <= 0) { next = now + 1; break; }
+            if (closing > 0) next = Math.min(next, ticksUntil(slack / closing));
+        }
+        nextGapCheck = next;
+    }
+
+    // Lane tick by which something dt ticks away must be looked at. One tick early absorbs rounding in x().
+    private int ticksUntil(double dt) {
+        if (!(dt < 1 << 30)) return Integer.MAX_VALUE; // also NaN
+        return now + Math.max(1, (int) dt - 1);
+    }
+
+    private void move(int from, int to) {
+        if (from == to) return;
+        base[to] = base[from]; speed[to] = speed[from]; w[to] = w[from]; h[to] = h[from]; kind[to] = kind[from];
+    }
+
+    private void grow() {
+        int n = base.length * 2;
+        base = Arrays.copyOf(base, n);
+        speed = Arrays.copyOf(speed, n);
+        w = Arrays.copyOf(w, n);
+        h = Arrays.copyOf(h, n);
+        kind = Arrays.copyOf(kind, n);
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.Random;
+
+// Headless equivalence probe for LaneActors' scheduled checks: drives pairs of random lanes through the same spawns, //
+// multi-tick updates, gap resolution and trims, one store only re-sorting, gap-checking and trimming on its predicted
+// due ticks and the other doing all three on every call (eager), and compares every slot bit for bit after each step.
+// Run: java LaneCheck [lanes] [ticksPerLane]   (exit code 1 on any mismatch)
+class LaneCheck {
+    static final int WIDTH = World.WIDTH, MARGIN = 60, MIN_GAP = World.TILE;
+
+    public static void main(String[] args) {
+        int lanes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 6_000;
+        Random rng = new Random(1);
+        long laneTicks = 0;
+        int bad = 0;
+        for (int n = 0; n < lanes && bad == 0; n++) {
+            LaneActors lazy = new LaneActors(), eager = new LaneActors();
+            eager.eager = true;
+            boolean road = rng.nextBoolean(), mixed = rng.nextInt(4) == 0; // mixed: both directions on one lane
+            double laneSpeed = (rng.nextBoolean() ? 1 : -1) * (0.5 + rng.nextDouble() * 3);
+            int every = 20 + rng.nextInt(80);
+            for (int t = 0; t < ticks && bad == 0; ) {
+                int step = rng.nextInt(8) == 0 ? 1 + rng.nextInt(8) : 1; // far lanes catch up several ticks at once
+                if (rng.nextInt(every) < step) {
+                    double sp = laneSpeed * (mixed && rng.nextBoolean() ? -1 : 1) * (0.75 + rng.nextDouble() / 2);
+                    int w = 30 + rng.nextInt(100);
+                    double x = sp > 0 ? -w - rng.nextInt(20) : WIDTH + rng.nextInt(20);
+                    if (lazy.overlapping((int) x, w, MIN_GAP) < 0) {
+                        lazy.add(x, sp, w, 30, (byte) 0);
+                        eager.add(x, sp, w, 30, (byte) 0);
+                    }
+                }
+                lazy.update(step); eager.update(step);
+                if (road) { lazy.resolveGaps(MIN_GAP); eager.resolveGaps(MIN_GAP); }
+                lazy.trim(WIDTH, MARGIN); eager.trim(WIDTH, MARGIN);
+                t += step;
+                laneTicks += step;
+                if (!same(lazy, eager)) {
+                    System.out.printf("lane %d (road=%b mixed=%b) differs at lane tick %d%n", n, road, mixed, lazy.now);
+                    bad++;
+                }
+            }
+        }
+        System.out.printf("%d lanes, %d lane ticks: %d mismatches%n", lanes, laneTicks, bad);
+        if (bad > 0) System.exit(1);
+    }
+
+    private static boolean same(LaneActors a, LaneActors b) {
+        if (a.count != b.count || a.now != b.now) return false;
+        for (int i = 0; i < a.count; i++) {
+            if (Double.doubleToLongBits(a.base[i]) != Double.doubleToLongBits(b.base[i]) || a.speed[i] != b.speed[i]
+                    || a.w[i] != b.w[i]) return false;
+        }
+        return true;
+    }
+}
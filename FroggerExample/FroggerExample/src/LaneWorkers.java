@@ -0,0 +1,100 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Fixed pool that ticks a World's lanes concurrently. Opt in with world.laneWorkers = new LaneWorkers(n); //
+// the frog phase still runs on the stepping thread once every lane is done.
+// Lanes are handed out in CHUNK-sized runs off a shared counter, so a busy lane doesn't hold up a whole static partition.
+// Each lane only touches its own LaneActors and Random, so the result is identical to the sequential step().
+// Worth it on boards with many lanes; on the stock 12-lane board the hand-off costs more than the lane work.
+class LaneWorkers implements AutoCloseable {
+    static final int CHUNK = 4;        // lanes claimed per grab
+    private static final int SPINS = 2_000; // busy-wait this long for the next tick before parking
+
+    private final Thread[] threads;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger(); // worker threads still inside this tick
+    private volatile int generation;   // bumped by tick(); workers wake on a change
+    private volatile boolean closed;
+    private volatile Throwable failure;
+
+    // The tick being worked on; published by the volatile generation write
+    private World world;
+    private Lane[] lanes;
+    private int count;
+
+    // workers counts the stepping thread, which always helps; so workers - 1 extra threads
+    LaneWorkers(int workers) {
+        threads = new Thread[Math.max(workers, 1) - 1];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(this::work, "lane-worker-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    LaneWorkers() { this(Runtime.getRuntime().availableProcessors()); }
+
+    int workers() { return threads.length + 1; }
+
+    // Runs world.tickLane on lanes[0..count) and returns once all of them are done
+    void tick(World world, Lane[] lanes, int count) {
+        if (threads.length == 0 || count <= CHUNK) {
+            for (int i = 0; i < count; i++) world.tickLane(lanes[i]);
+            return;
+        }
+        this.world = world;
+        this.lanes = lanes;
+        this.count = count;
+        next.set(0);
+        pending.set(threads.length);
+        generation++;
+        for (Thread t : threads) LockSupport.unpark(t);
+
+        drain();
+        // Wait until every worker has left drain(), so every claimed lane is done. Yield once the spin budget is
+        // spent, in case a worker is waiting for this core.
+        for (int spins = 0; pending.get() > 0; spins++) {
+            if (spins < SPINS) Thread.onSpinWait(); else Thread.yield();
+        }
+
+        Throwable f = failure;
+        if (f != null) {
+            failure = null;
+            throw new IllegalStateException("lane tick failed", f);
+        }
+    }
+
+    // Claim and run chunks until the counter passes the end
+    private void drain() {
+        int n = count;
+        int i;
+        while ((i = next.getAndAdd(CHUNK)) < n) {
+            int end = Math.min(i + CHUNK, n);
+            try {
+                for (int j = i; j < end; j++) world.tickLane(lanes[j]);
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+    }
+
+    private void work() {
+        int seen = 0;
+        while (!closed) {
+            int spins = 0;
+            while (generation == seen && !closed) {
+                if (++spins < SPINS) Thread.onSpinWait();
+                else LockSupport.park(this);
+            }
+            if (closed) return;
+            seen = generation;
+            drain();
+            pending.decrementAndGet();
+        }
+    }
+
+    @Override public void close() {
+        closed = true;
+        for (Thread t : threads) LockSupport.unpark(t);
+    }
+}
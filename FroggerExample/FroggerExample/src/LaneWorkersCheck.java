@@ -0,0 +1,43 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Headless probe for LaneWorkers: for each seed, plays a sequential World and one ticking its lanes on a LaneWorkers //
+// pool side by side on assets/levels/endless.txt (200 rows, so every worker gets lanes) with the same random hops from a
+// few frogs, and compares stateHash() every tick. Stops a seed at its first mismatch.
+// Run: java LaneWorkersCheck [seeds] [ticksPerSeed] [workers]   (exit code 1 on any mismatch)
+class LaneWorkersCheck {
+    static final int FROGS = 4;
+
+    public static void main(String[] args) throws IOException {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : 4; // threads interleave even on one core
+        LevelPlan endless = LevelPlan.load(Path.of("assets/levels/endless.txt"));
+        int failed = 0;
+        try (LaneWorkers pool = new LaneWorkers(workers)) {
+            for (long seed = 1; seed <= seeds; seed++) {
+                World seq = new World(seed, endless), par = new World(seed, endless);
+                par.laneWorkers = pool;
+                for (int i = 1; i < FROGS; i++) { seq.addFrog(); par.addFrog(); }
+                Random inputs = new Random(seed * 7);
+                for (int t = 0; t < ticks; t++) {
+                    for (int i = 0; i < FROGS; i++) {
+                        if (inputs.nextInt(12) != 0) continue;
+                        int action = inputs.nextInt(10) < 6 ? World.HOP_UP : inputs.nextInt(4);
+                        seq.press(i, action); par.press(i, action);
+                    }
+                    seq.step(); par.step();
+                    if (seq.stateHash() != par.stateHash()) {
+                        System.out.printf("seed %d: %d lane workers diverged from the sequential step at tick %d%n",
+                                seed, workers, seq.ticks);
+                        failed++;
+                        break;
+                    }
+                }
+            }
+        }
+        System.out.printf("%d seeds x %d ticks on %d lane workers: %d failed%n", seeds, ticks, workers, failed);
+        if (failed > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,391 @@
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+// Level definitions, compiled once from assets/levels/levels.txt (or its binary form levels.bin) into immutable specs. //
+// World.setupLevel() builds lanes from these; nothing about a level's layout is hard-coded any more.
+//
+// Text format, one directive per line, '#' starts a comment:
+//   level <n>                                    start level n (levels must be numbered 1, 2, 3, ...)
+//   free                                         free-move level: no lanes or hazards
+//   rows <n>                                     board height in rows (default World.ROWS); taller boards scroll
+//   scales traffic=<x> logs=<x> critters=<x>     spawn-interval multipliers for road / river / critter lanes (>= 0)
+//   lane <kind> <row> <dir> <speed> <every> <chance> <seed> <mix>...
+//       kind    road | river | critter
+//       dir     left | right
+//       speed   px per tick before per-actor variation
+//       every   ticks between spawn attempts, before the level's scale (1..65535)
+//       chance  probability an attempt spawns anything (0..1)
+//       seed    actors placed on the lane when the level starts (0..255)
+//       mix     actor:weight pairs, e.g. truck:33 car:33 car_red:34
+//   repeat <times> <stride> ... end              the lanes in between, repeated times, stride rows further each time
+//
+// Binary format (big-endian): "FLV2", CRC32 of the text it came from, level count, then per level: freePlay, rows, the
+// three scales, lane count and per lane kind, row, speed, every, chance, seed, mix count and (actor, weight) pairs.
+// Both forms go through the same checks, so a damaged or foreign levels.bin (or replay) is refused, not half-loaded.
+final class LevelPlan {
+    static final String TEXT = "assets/levels/levels.txt";
+    static final String BINARY = "assets/levels/levels.bin";
+    private static final int MAGIC = 0x464C5632; // "FLV2"
+    static final int MAX_ROWS = 4096;
+    // Limits of the binary fields (unsigned byte or short), checked on parse so the cache never truncates
+    static final int MAX_EVERY = 0xFFFF, MAX_SEED = 0xFF, MAX_MIX = 0xFF, MAX_WEIGHT = 0xFFFF, MAX_LEVELS = 0xFFFF;
+
+    static final String[] LANE_KINDS = {"road", "river", "critter"}; // indexed by Lane.ROAD / RIVER / CRITTER
+    static final String[] ACTOR_KINDS = {"car", "car_red", "truck", "log", "bird", "snake"}; // indexed by LaneActors kind
+
+    private static LevelPlan standard;
+
+    private final Level[] levels;
+    final long sourceCrc; // CRC32 of the text this plan was compiled from
+
+    private LevelPlan(Level[] levels, long sourceCrc) {
+        this.levels = levels;
+        this.sourceCrc = sourceCrc;
+    }
+
+    int count() { return levels.length; }
+
+    // 1-based, like World.level
+    Level level(int n) { return levels[n - 1]; }
+
+    // Tallest board of any level; World sizes its per-row tables to this once
+    int maxRows() {
+        int max = 0;
+        for (Level l : levels) max = Math.max(max, l.rows);
+        return max;
+    }
+
+    // One level's layout
+    static final class Level {
+        final boolean freePlay;
+        final int rows;
+        final double trafficScale, logDensityScale, critterDensityScale;
+        private final LaneSpec[] lanes;
+
+        Level(boolean freePlay, int rows, double trafficScale, double logDensityScale, double critterDensityScale,
+              LaneSpec[] lanes) {
+            if (rows < 4 || rows > MAX_ROWS) throw new IllegalArgumentException("rows must be 4.." + MAX_ROWS);
+            if (!(trafficScale >= 0 && logDensityScale >= 0 && critterDensityScale >= 0)
+                    || Double.isInfinite(trafficScale + logDensityScale + critterDensityScale))
+                throw new IllegalArgumentException("scales must be finite and >= 0");
+            this.freePlay = freePlay;
+            this.rows = rows;
+            this.trafficScale = trafficScale;
+            this.logDensityScale = logDensityScale;
+            this.critterDensityScale = critterDensityScale;
+            this.lanes = lanes.clone();
+            if (freePlay && lanes.length > 0) throw new IllegalArgumentException("a free level has no lanes");
+            boolean[] used = new boolean[rows];
+            for (LaneSpec l : lanes) {
+                // Row 0 is the HUD, row 1 the goal and the last row the start
+                if (l.row < 2 || l.row >= rows - 1) throw new IllegalArgumentException("row " + l.row + " is not a lane row");
+                if (used[l.row]) throw new IllegalArgumentException("two lanes on row " + l.row);
+                used[l.row] = true;
+            }
+        }
+
+        int laneCount() { return lanes.length; }
+        LaneSpec lane(int i) { return lanes[i]; }
+
+        int laneCount(int kind) {
+            int n = 0;
+            for (LaneSpec l : lanes) if (l.kind == kind) n++;
+            return n;
+        }
+
+        double scaleFor(int laneKind) {
+            return switch (laneKind) {
+                case Lane.ROAD -> trafficScale;
+                case Lane.RIVER -> logDensityScale;
+                default -> critterDensityScale;
+            };
+        }
+    }
+
+    // One lane of a level
+    static final class LaneSpec {
+        final int kind;       // Lane.ROAD / RIVER / CRITTER
+        final int row;
+        final double speed;   // signed: + right, - left
+        final int every;      // spawn interval before the level's density scale
+        final double chance;  // per spawn attempt
+        final int seed;       // actors placed at level start
+        private final byte[] mixKinds;
+        private final int[] mixUpTo; // running weight totals, so pick() is one draw and a short scan
+
+        LaneSpec(int kind, int row, double speed, int every, double chance, int seed, byte[] mixKinds, int[] weights) {
+            if (kind < 0 || kind >= LANE_KINDS.length) throw new IllegalArgumentException("no lane kind " + kind);
+            if (row < 0 || row >= MAX_ROWS) throw new IllegalArgumentException("row " + row + " is off the board");
+            if (!Double.isFinite(speed)) throw new IllegalArgumentException("speed must be a finite number");
+            if (!(chance >= 0 && chance <= 1)) throw new IllegalArgumentException("spawn chance must be 0..1");
+            if (every <= 0 || every > MAX_EVERY) throw new IllegalArgumentException("spawn interval must be 1.." + MAX_EVERY);
+            if (seed < 0 || seed > MAX_SEED) throw new IllegalArgumentException("seeded actors must be 0.." + MAX_SEED);
+            if (mixKinds.length == 0 || mixKinds.length != weights.length) throw new IllegalArgumentException("empty actor mix");
+            if (mixKinds.length > MAX_MIX) throw new IllegalArgumentException("at most " + MAX_MIX + " actors in a mix");
+            for (byte k : mixKinds)
+                if (k < 0 || k >= ACTOR_KINDS.length) throw new IllegalArgumentException("no actor kind " + k);
+            this.kind = kind;
+            this.row = row;
+            this.speed = speed;
+            this.every = every;
+            this.chance = chance;
+            this.seed = seed;
+            this.mixKinds = mixKinds.clone();
+            this.mixUpTo = new int[weights.length];
+            int total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] <= 0 || weights[i] > MAX_WEIGHT) throw new IllegalArgumentException("mix weights must be 1.." + MAX_WEIGHT);
+                mixUpTo[i] = total += weights[i];
+            }
+        }
+
+        // Actor kind for the next spawn
+        byte pick(Random rng) {
+            if (mixKinds.length == 1) return mixKinds[0];
+            int roll = rng.nextInt(mixUpTo[mixUpTo.length - 1]);
+            int i = 0;
+            while (roll >= mixUpTo[i]) i++;
+            return mixKinds[i];
+        }
+
+        // Same lane, another row (repeat blocks)
+        LaneSpec atRow(int newRow) {
+            int[] weights = new int[mixKinds.length];
+            for (int i = 0; i < weights.length; i++) weights[i] = mixWeight(i);
+            return new LaneSpec(kind, newRow, speed, every, chance, seed, mixKinds, weights);
+        }
+
+        int mixCount() { return mixKinds.length; }
+        byte mixKind(int i) { return mixKinds[i]; }
+        int mixWeight(int i) { return mixUpTo[i] - (i == 0 ? 0 : mixUpTo[i - 1]); }
+    }
+
+    // The game's own levels, loaded once. levels.bin is used when it was compiled from the levels.txt next to it.
+    static synchronized LevelPlan standard() {
+        if (standard != null) return standard;
+        try {
+            byte[] text = read(TEXT);
+            byte[] bin = read(BINARY);
+            LevelPlan plan = null;
+            if (bin != null) {
+                try {
+                    plan = readBinary(new DataInputStream(new ByteArrayInputStream(bin)));
+                } catch (IOException e) {
+                    if (text == null) throw e;
+                    System.err.println("levels: ignoring " + BINARY + " (" + e.getMessage() + ")");
+                }
+                if (plan != null && text != null && plan.sourceCrc != crc(text)) plan = null; // levels.txt edited since; recompile
+            }
+            if (plan == null) {
+                if (text == null) throw new FileNotFoundException(TEXT);
+                plan = parse(new String(text, StandardCharsets.UTF_8), crc(text));
+            }
+            return standard = plan;
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot load levels", e);
+        }
+    }
+
+    // A level file given on the command line: binary if it starts with the compiled magic, text otherwise
+    static LevelPlan load(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length >= 4 && ByteBuffer.wrap(bytes).getInt() == MAGIC)
+            return readBinary(new DataInputStream(new ByteArrayInputStream(bytes)));
+        return parse(new String(bytes, StandardCharsets.UTF_8), crc(bytes));
+    }
+
+    // Same lookup as Assets: ./assets first, then the classpath. Null if neither has it.
+    private static byte[] read(String relPath) throws IOException {
+        File f = new File("." + File.separator + relPath.replace("/", File.separator));
+        if (f.isFile()) return Files.readAllBytes(f.toPath());
+        URL url = LevelPlan.class.getResource("/" + relPath);
+        if (url == null) return null;
+        try (InputStream in = url.openStream()) { return in.readAllBytes(); }
+    }
+
+    private static long crc(byte[] bytes) {
+        CRC32 c = new CRC32();
+        c.update(bytes);
+        return c.getValue();
+    }
+
+    static LevelPlan parse(String text, long sourceCrc) {
+        List<Level> levels = new ArrayList<>();
+        List<LaneSpec> lanes = new ArrayList<>();
+        List<LaneSpec> block = null; // lanes of an open repeat block
+        int times = 0, stride = 0;
+        boolean inLevel = false, free = false;
+        int rows = World.ROWS;
+        double traffic = 1, logs = 1, critters = 1;
+
+        String[] lines = text.split("\r?\n");
+        for (int n = 0; n < lines.length; n++) {
+            String line = lines[n];
+            int hash = line.indexOf('#');
+            if (hash >= 0) line = line.substring(0, hash);
+            String[] t = line.trim().split("\\s+");
+            if (t[0].isEmpty()) continue;
+            try {
+                switch (t[0]) {
+                    case "level" -> {
+                        if (block != null) throw new IllegalArgumentException("repeat without end");
+                        if (inLevel) levels.add(new Level(free, rows, traffic, logs, critters, lanes.toArray(new LaneSpec[0])));
+                        if (Integer.parseInt(t[1]) != levels.size() + 1)
+                            throw new IllegalArgumentException("expected level " + (levels.size() + 1));
+                        inLevel = true; free = false; rows = World.ROWS; traffic = logs = critters = 1; lanes.clear();
+                    }
+                    case "free" -> free = true;
+                    case "rows" -> rows = Integer.parseInt(t[1]);
+                    case "repeat" -> {
+                        if (block != null) throw new IllegalArgumentException("repeat blocks don't nest");
+                        times = Integer.parseInt(t[1]);
+                        stride = Integer.parseInt(t[2]);
+                        block = new ArrayList<>();
+                    }
+                    case "end" -> {
+                        if (block == null) throw new IllegalArgumentException("end without repeat");
+                        for (int k = 0; k < times; k++)
+                            for (LaneSpec l : block) lanes.add(l.atRow(l.row + k * stride));
+                        block = null;
+                    }
+                    case "scales" -> {
+                        for (int i = 1; i < t.length; i++) {
+                            String[] kv = t[i].split("=");
+                            double v = Double.parseDouble(kv[1]);
+                            switch (kv[0]) {
+                                case "traffic" -> traffic = v;
+                                case "logs" -> logs = v;
+                                case "critters" -> critters = v;
+                                default -> throw new IllegalArgumentException("unknown scale " + kv[0]);
+                            }
+                        }
+                    }
+                    case "lane" -> {
+                        if (t.length < 9) throw new IllegalArgumentException("lane needs kind row dir speed every chance seed mix");
+                        int kind = indexOf(LANE_KINDS, t[1], "lane kind");
+                        double speed = Double.parseDouble(t[4]);
+                        switch (t[3]) {
+                            case "right" -> {}
+                            case "left" -> speed = -speed;
+                            default -> throw new IllegalArgumentException("dir must be left or right");
+                        }
+                        byte[] mix = new byte[t.length - 8];
+                        int[] weights = new int[mix.length];
+                        for (int i = 0; i < mix.length; i++) {
+                            String[] kw = t[8 + i].split(":");
+                            mix[i] = (byte) indexOf(ACTOR_KINDS, kw[0], "actor");
+                            weights[i] = (kw.length > 1) ? Integer.parseInt(kw[1]) : 1;
+                        }
+                        LaneSpec lane = new LaneSpec(kind, Integer.parseInt(t[2]), speed, Integer.parseInt(t[5]),
+                                Double.parseDouble(t[6]), Integer.parseInt(t[7]), mix, weights);
+                        (block != null ? block : lanes).add(lane);
+                    }
+                    default -> throw new IllegalArgumentException("unknown directive " + t[0]);
+                }
+                if (!inLevel) throw new IllegalArgumentException("'" + t[0] + "' before the first level");
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("levels line " + (n + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        if (block != null) throw new IllegalArgumentException("repeat without end");
+        if (inLevel) levels.add(new Level(free, rows, traffic, logs, critters, lanes.toArray(new LaneSpec[0])));
+        if (levels.isEmpty()) throw new IllegalArgumentException("no levels defined");
+        if (levels.size() > MAX_LEVELS) throw new IllegalArgumentException("at most " + MAX_LEVELS + " levels");
+        return new LevelPlan(levels.toArray(new Level[0]), sourceCrc);
+    }
+
+    private static int indexOf(String[] names, String name, String what) {
+        for (int i = 0; i < names.length; i++) if (names[i].equals(name)) return i;
+        throw new IllegalArgumentException("unknown " + what + " '" + name + "'");
+    }
+
+    void writeBinary(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(sourceCrc);
+        out.writeShort(levels.length);
+        for (Level l : levels) {
+            out.writeBoolean(l.freePlay);
+            out.writeShort(l.rows);
+            out.writeDouble(l.trafficScale);
+            out.writeDouble(l.logDensityScale);
+            out.writeDouble(l.critterDensityScale);
+            out.writeShort(l.lanes.length);
+            for (LaneSpec s : l.lanes) {
+                out.writeByte(s.kind);
+                out.writeShort(s.row);
+                out.writeDouble(s.speed);
+                out.writeShort(s.every);
+                out.writeDouble(s.chance);
+                out.writeByte(s.seed);
+                out.writeByte(s.mixKinds.length);
+                for (int i = 0; i < s.mixKinds.length; i++) {
+                    out.writeByte(s.mixKinds[i]);
+                    out.writeShort(s.mixWeight(i));
+                }
+            }
+        }
+    }
+
+    // Refuses (IOException) anything parse() would have refused, as well as a bad magic
+    static LevelPlan readBinary(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("not a compiled level file");
+        try {
+            return readLevels(in);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("compiled levels are damaged: " + e.getMessage(), e);
+        }
+    }
+
+    private static LevelPlan readLevels(DataInputStream in) throws IOException {
+        long crc = in.readLong();
+        Level[] levels = new Level[in.readUnsignedShort()];
+        for (int n = 0; n < levels.length; n++) {
+            boolean free = in.readBoolean();
+            int rows = in.readUnsignedShort();
+            double traffic = in.readDouble(), logs = in.readDouble(), critters = in.readDouble();
+            LaneSpec[] lanes = new LaneSpec[in.readUnsignedShort()];
+            for (int i = 0; i < lanes.length; i++) {
+                int kind = in.readUnsignedByte(), row = in.readUnsignedShort();
+                double speed = in.readDouble();
+                int every = in.readUnsignedShort();
+                double chance = in.readDouble();
+                int seed = in.readUnsignedByte();
+                byte[] mix = new byte[in.readUnsignedByte()];
+                int[] weights = new int[mix.length];
+                for (int m = 0; m < mix.length; m++) {
+                    mix[m] = in.readByte();
+                    weights[m] = in.readUnsignedShort();
+                }
+                lanes[i] = new LaneSpec(kind, row, speed, every, chance, seed, mix, weights);
+            }
+            levels[n] = new Level(free, rows, traffic, logs, critters, lanes);
+        }
+        return new LevelPlan(levels, crc);
+    }
+
+    // Compiles the text form to the binary one: java LevelPlan [levels.txt] [levels.bin]
+    public static void main(String[] args) throws IOException {
+        Path src = Path.of(args.length > 0 ? args[0] : TEXT);
+        Path dst = Path.of(args.length > 1 ? args[1] : BINARY);
+        byte[] text = Files.readAllBytes(src);
+        long t0 = System.nanoTime();
+        LevelPlan plan = parse(new String(text, StandardCharsets.UTF_8), crc(text));
+        long parsed = System.nanoTime() - t0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dst)))) {
+            plan.writeBinary(out);
+        }
+        t0 = System.nanoTime();
+        readBinary(new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(dst))));
+        long loaded = System.nanoTime() - t0;
+        System.out.printf("%s -> %s: %d levels, %d bytes (text parse %.2f ms, binary load %.2f ms)%n",
+                src, dst, plan.count(), Files.size(dst), parsed / 1e6, loaded / 1e6);
+    }
+}
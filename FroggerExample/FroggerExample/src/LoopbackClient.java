@@ -0,0 +1,147 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+
+// Stand-in clients for GameServer: one selector thread drives many connections spread over rooms. Each says hello, //
+// rebuilds every snapshot from its delta and the baseline it names, acks it, and hops its frog at random now and then.
+// Halfway through, every tenth client leaves, so the others' frogs get renumbered. Any delta that names a baseline the
+// client doesn't have, fails its CRC, or leaves out the client's frog is a failure, as are two clients in one room
+// that disagree about a tick.
+// Run: java LoopbackClient [--port P] [--clients 1000] [--rooms 250] [--seconds 10]
+// Without --port it starts a GameServer of its own on a free port.
+class LoopbackClient {
+    private static final int KEEP = 32; // snapshots kept per client as baselines
+
+    static final class Client {
+        final int room;
+        final SocketChannel ch;
+        final ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+        final ByteBuffer out = ByteBuffer.allocate(1024);
+        final TreeMap<Integer, Snapshot> history = new TreeMap<>();
+        int frog = -1; // from WELCOME
+
+        Client(int room, SocketChannel ch) {
+            this.room = room;
+            this.ch = ch;
+        }
+    }
+
+    private final Random rng = new Random(1);
+    private final Map<Integer, TreeMap<Integer, Integer>> seen = new HashMap<>(); // room -> tick -> crc
+    long full, deltas, fullBytes, deltaBytes, failures, disagreements;
+
+    public static void main(String[] args) throws Exception {
+        int port = -1, clients = 1000, rooms = 250, seconds = 10;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--clients" -> clients = Integer.parseInt(args[++i]);
+                case "--rooms" -> rooms = Integer.parseInt(args[++i]);
+                case "--seconds" -> seconds = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        GameServer server = null;
+        if (port < 0) {
+            server = new GameServer(0, Runtime.getRuntime().availableProcessors(), 42);
+            server.start();
+            port = server.port();
+        }
+        LoopbackClient lc = new LoopbackClient();
+        lc.run(port, clients, rooms, seconds * 1000L);
+        System.out.printf("%d clients in %d rooms for %d s: %d full snapshots (avg %d B), %d deltas (avg %d B), "
+                        + "%d failures, %d disagreements%n",
+                clients, rooms, seconds, lc.full, lc.full > 0 ? lc.fullBytes / lc.full : 0,
+                lc.deltas, lc.deltas > 0 ? lc.deltaBytes / lc.deltas : 0, lc.failures, lc.disagreements);
+        if (server != null) {
+            System.out.printf("server: %d room ticks, %d snapshots sent (%d full), %.1f MB out%n", server.ticks.get(),
+                    server.snapshots.get(), server.fullSnapshots.get(), server.bytesOut.get() / 1048576.0);
+            server.close();
+        }
+        if (lc.failures > 0 || lc.disagreements > 0) System.exit(1);
+    }
+
+    void run(int port, int clients, int rooms, long millis) throws IOException {
+        try (Selector selector = Selector.open()) {
+            List<Client> all = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                SocketChannel ch = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+                ch.configureBlocking(false);
+                ch.socket().setTcpNoDelay(true);
+                Client c = new Client(i % rooms, ch);
+                ch.register(selector, SelectionKey.OP_READ, c);
+                c.out.putInt(5).put(GameServer.HELLO).putInt(c.room);
+                flush(c);
+                all.add(c);
+            }
+            long end = System.currentTimeMillis() + millis, churn = end - millis / 2;
+            for (long now; (now = System.currentTimeMillis()) < end; ) {
+                if (now >= churn) {
+                    for (int i = 0; i < all.size(); i += 10) all.get(i).ch.close();
+                    churn = Long.MAX_VALUE;
+                }
+                selector.select(Math.max(1, end - now));
+                for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext(); ) {
+                    SelectionKey k = it.next();
+                    it.remove();
+                    Client c = (Client) k.attachment();
+                    if (c.ch.read(c.in) < 0) throw new IOException("server closed client " + c.room);
+                    frames(c);
+                    flush(c);
+                }
+            }
+            for (Client c : all) c.ch.close();
+            for (Client c : all) if (c.frog < 0) failures++; // never welcomed
+        }
+    }
+
+    private void frames(Client c) {
+        ByteBuffer in = c.in;
+        in.flip();
+        while (in.remaining() >= 4 && in.remaining() >= 4 + in.getInt(in.position())) {
+            int len = in.getInt(), end = in.position() + len;
+            byte type = in.get();
+            if (type == GameServer.WELCOME) c.frog = in.getInt(in.position() + 4 + 8 + 8);
+            else if (type == GameServer.SNAPSHOT) snapshot(c, in, len - 1);
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    private void snapshot(Client c, ByteBuffer in, int len) {
+        int baseTick = Snapshot.baseTick(in);
+        Snapshot snap;
+        try {
+            snap = Snapshot.apply(baseTick >= 0 ? c.history.get(baseTick) : null, in);
+        } catch (RuntimeException e) {
+            failures++;
+            return;
+        }
+        if (c.frog >= snap.frogs()) failures++;
+        if (baseTick < 0) { full++; fullBytes += len; } else { deltas++; deltaBytes += len; }
+        c.history.put(snap.tick, snap);
+        if (c.history.size() > KEEP) c.history.pollFirstEntry();
+        TreeMap<Integer, Integer> room = seen.computeIfAbsent(c.room, r -> new TreeMap<>());
+        Integer other = room.putIfAbsent(snap.tick, snap.crc);
+        if (other != null && other != snap.crc) disagreements++;
+        if (room.size() > KEEP) room.pollFirstEntry();
+
+        if (c.out.remaining() < 16) flush(c);
+        c.out.putInt(5).put(GameServer.ACK).putInt(snap.tick);
+        if (rng.nextInt(10) == 0) c.out.putInt(2).put(GameServer.INPUT).put((byte) rng.nextInt(4));
+    }
+
+    private static void flush(Client c) {
+        c.out.flip();
+        try {
+            while (c.out.hasRemaining()) c.ch.write(c.out); // tiny frames: the socket buffer always has room
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+        c.out.clear();
+    }
+}
@@ -0,0 +1,148 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Hot-path instrumentation: per-phase nanosecond histograms, timer pacing and allocation rate. //
+// Disabled by default; while off, mark()/lap() are a field read each. -Dfrogger.metrics=<file.json|file.csv> turns it on
+// and writes a report on exit. F3 in the game toggles the overlay (MetricsOverlay) and turns it on too.
+class Metrics {
+    // Phases
+    static final int SPAWN    = 0;
+    static final int MOVE     = 1;
+    static final int GAPS     = 2;
+    static final int TRIM     = 3;
+    static final int COLLIDE  = 4;
+    static final int TICK     = 5; // whole step()
+    static final int RENDER   = 6; // one frame in the front end
+    static final int INTERVAL = 7; // wall time between two front-end ticks
+    static final String[] NAMES = {"spawn", "move", "gaps", "trim", "collide", "tick", "render", "interval"};
+
+    boolean enabled;
+    final Histogram[] phases = new Histogram[NAMES.length];
+
+    long coalesced;         // timer periods that produced no tick (Swing merged or dropped the event)
+    long allocBytesPerSec;  // tick thread, last full one-second window; -1 if the JVM can't tell us
+
+    private long lastTickAt;
+    private long allocWindowStart, allocWindowBytes;
+    private final com.sun.management.ThreadMXBean threads;
+
+    Metrics() {
+        for (int i = 0; i < phases.length; i++) phases[i] = new Histogram();
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        threads = (mx instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) ? sun : null;
+        allocBytesPerSec = (threads == null) ? -1 : 0;
+    }
+
+    long mark() { return enabled ? System.nanoTime() : 0; }
+
+    // Records now - start against phase and returns now, so laps chain: t = lap(A, t); t = lap(B, t);
+    long lap(int phase, long start) {
+        if (!enabled) return 0;
+        long now = System.nanoTime();
+        phases[phase].record(now - start);
+        return now;
+    }
+
+    // Front ends call this once per timer event / loop tick with their nominal period
+    void tickStarted(long periodNanos) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        if (lastTickAt != 0) {
+            long gap = now - lastTickAt;
+            phases[INTERVAL].record(gap);
+            long missed = Math.round(gap / (double) periodNanos) - 1;
+            if (missed > 0) coalesced += missed;
+        }
+        lastTickAt = now;
+        sampleAllocation(now);
+    }
+
+    private void sampleAllocation(long now) {
+        if (threads == null) return;
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        if (allocWindowStart == 0) { allocWindowStart = now; allocWindowBytes = bytes; return; }
+        long elapsed = now - allocWindowStart;
+        if (elapsed < 1_000_000_000L) return;
+        allocBytesPerSec = (long) ((bytes - allocWindowBytes) * (1e9 / elapsed));
+        allocWindowStart = now; allocWindowBytes = bytes;
+    }
+
+    void reset() {
+        for (Histogram h : phases) h.reset();
+        coalesced = 0;
+        lastTickAt = allocWindowStart = 0;
+    }
+
+    // Writes a JSON or CSV (by file extension) report: phase percentiles plus the lanes' current actor counts
+    void writeTo(Path file, World world) throws IOException {
+        boolean csv = file.toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            if (csv) writeCsv(out, world); else writeJson(out, world);
+        }
+    }
+
+    private void writeCsv(PrintWriter out, World world) {
+        out.println("phase,count,mean_ns,p50_ns,p90_ns,p99_ns,p999_ns,max_ns");
+        for (int i = 0; i < phases.length; i++) {
+            Histogram h = phases[i];
+            out.printf(Locale.ROOT, "%s,%d,%.0f,%d,%d,%d,%d,%d%n", NAMES[i], h.count, h.mean(),
+                    h.percentile(50), h.percentile(90), h.percentile(99), h.percentile(99.9), h.max);
+        }
+        out.println();
+        out.println("lane_row,lane_kind,actors");
+        for (int r = 0; r < world.rows; r++) {
+            Lane lane = world.laneAt(r);
+            if (lane != null) out.printf(Locale.ROOT, "%d,%s,%d%n", r, laneKind(lane), lane.actors.count);
+        }
+        out.println();
+        out.println("ticks,coalesced,alloc_bytes_per_sec");
+        out.printf(Locale.ROOT, "%d,%d,%d%n", world.ticks, coalesced, allocBytesPerSec);
+    }
+
+    private void writeJson(PrintWriter out, World world) {
+        out.println("{");
+        out.printf(Locale.ROOT, "  \"ticks\": %d,%n  \"coalesced\": %d,%n  \"allocBytesPerSec\": %d,%n",
+                world.ticks, coalesced, allocBytesPerSec);
+        out.println("  \"phases\": {");
+        for (int i = 0; i < phases.length; i++) {
+            Histogram h = phases[i];
+            out.printf(Locale.ROOT, "    \"%s\": {\"count\": %d, \"meanNs\": %.0f, \"p50Ns\": %d, \"p90Ns\": %d, \"p99Ns\": %d, \"p999Ns\": %d, \"maxNs\": %d}%s%n",
+                    NAMES[i], h.count, h.mean(), h.percentile(50), h.percentile(90), h.percentile(99),
+                    h.percentile(99.9), h.max, i + 1 < phases.length ? "," : "");
+        }
+        out.println("  },");
+        out.print("  \"lanes\": [");
+        boolean first = true;
+        for (int r = 0; r < world.rows; r++) {
+            Lane lane = world.laneAt(r);
+            if (lane == null) continue;
+            out.printf(Locale.ROOT, "%s%n    {\"row\": %d, \"kind\": \"%s\", \"actors\": %d}", first ? "" : ",", r, laneKind(lane), lane.actors.count);
+            first = false;
+        }
+        out.println(first ? "]" : "\n  ]");
+        out.println("}");
+    }
+
+    static String laneKind(Lane lane) {
+        return switch (lane.kind) {
+            case Lane.ROAD -> "road";
+            case Lane.RIVER -> "river";
+            default -> "critter";
+        };
+    }
+
+    // Honours -Dfrogger.metrics=<file>: enables collection now and writes the report when the JVM exits
+    static void installFromSystemProperty(World world) {
+        String file = System.getProperty("frogger.metrics");
+        if (file == null || file.isEmpty()) return;
+        world.metrics.enabled = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try { world.metrics.writeTo(Path.of(file), world); }
+            catch (IOException e) { System.err.println("metrics: could not write " + file + ": " + e); }
+        }, "metrics-dump"));
+    }
+}
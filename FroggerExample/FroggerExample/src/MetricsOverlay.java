@@ -0,0 +1,58 @@
+import java.awt.*;
+import java.util.Locale;
+
+// F3 overlay: tick/frame cost next to the score line, plus a panel with per-phase percentiles and lane occupancy. //
+final class MetricsOverlay {
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color PANEL = new Color(0, 0, 0, 170);
+
+    private MetricsOverlay() {}
+
+    static void draw(Graphics2D g, World world) {
+        Metrics m = world.metrics;
+        g.setFont(FONT);
+        FontMetrics fm = g.getFontMetrics();
+
+        // HUD row, right aligned after the score line
+        String hud = String.format(Locale.ROOT, "tick p99 %s  frame p99 %s",
+                micros(m.phases[Metrics.TICK].percentile(99)), micros(m.phases[Metrics.RENDER].percentile(99)));
+        g.setColor(Color.WHITE);
+        g.drawString(hud, World.WIDTH - fm.stringWidth(hud) - 10, 26);
+
+        // Detail panel
+        int lines = 1 + Metrics.NAMES.length + 1 + laneCount(world);
+        int lh = fm.getHeight(), w = 300, h = lines * lh + 8, x = World.WIDTH - w - 8, y = World.TILE + 8;
+        g.setColor(PANEL); g.fillRect(x, y, w, h);
+        g.setColor(Color.WHITE);
+        int yy = y + lh;
+        g.drawString(String.format(Locale.ROOT, "%-8s %7s %7s %7s  (us)", "phase", "p50", "p99", "max"), x + 8, yy); yy += lh;
+        for (int i = 0; i < Metrics.NAMES.length; i++) {
+            Histogram hs = m.phases[i];
+            g.drawString(String.format(Locale.ROOT, "%-8s %7s %7s %7s", Metrics.NAMES[i],
+                    micros(hs.percentile(50)), micros(hs.percentile(99)), micros(hs.max)), x + 8, yy);
+            yy += lh;
+        }
+        String alloc = m.allocBytesPerSec < 0 ? "n/a" : (m.allocBytesPerSec / 1024) + " KB/s";
+        g.drawString("coalesced " + m.coalesced + "   alloc " + alloc, x + 8, yy); yy += lh;
+        for (int r = firstRow(world); r <= lastRow(world); r++) {
+            Lane lane = world.laneAt(r);
+            if (lane == null) continue;
+            g.drawString(String.format(Locale.ROOT, "row %2d %-7s %3d actors", r, Metrics.laneKind(lane), lane.actors.count), x + 8, yy);
+            yy += lh;
+        }
+    }
+
+    private static int laneCount(World world) {
+        int n = 0;
+        for (int r = firstRow(world); r <= lastRow(world); r++) if (world.laneAt(r) != null) n++;
+        return n;
+    }
+
+    // Lanes listed: a screen's worth of rows around the frog, so tall boards don't run off the panel
+    private static int firstRow(World world) { return Math.max(0, world.frog.y / World.TILE - World.ROWS / 2); }
+    private static int lastRow(World world) { return Math.min(world.rows - 1, firstRow(world) + World.ROWS - 1); }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
@@ -0,0 +1,72 @@
+import java.util.Random;
+
+// Headless probe for shared boards: for each seed, plays two full 64-frog Worlds side by side on the same random hops //
+// while frogs leave and join, and compares stateHash() every tick. Also checks that a 65th frog is refused and that a
+// queued hop follows its frog when removeFrog() moves it into the freed slot, and that one frog's flood of presses
+// doesn't crowd out the others'.
+// Run: java PartyCheck [seeds] [ticksPerSeed]   (exit code 1 on any failure)
+class PartyCheck {
+    static final int CHURN_EVERY = 500; // a frog leaves mid-period and one joins at its start
+
+    public static void main(String[] args) {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int failed = 0;
+        for (long seed = 1; seed <= seeds; seed++) {
+            World a = new World(seed), b = new World(seed);
+            while (a.addFrog() >= 0) b.addFrog();
+            if (a.frogCount != World.MAX_FROGS || b.addFrog() != -1) {
+                System.out.printf("seed %d: %d frogs, and a 65th was let in%n", seed, a.frogCount);
+                failed++;
+            }
+            Random inputs = new Random(seed * 7);
+            int diverged = -1;
+            for (int t = 0; t < ticks && diverged < 0; t++) {
+                for (int i = 0; i < a.frogCount; i++) {
+                    if (inputs.nextInt(12) != 0) continue;
+                    int action = inputs.nextInt(10) < 6 ? World.HOP_UP : inputs.nextInt(4);
+                    a.press(i, action); b.press(i, action);
+                }
+                if (t % CHURN_EVERY == CHURN_EVERY / 2) {
+                    int gone = inputs.nextInt(a.frogCount);
+                    a.removeFrog(gone); b.removeFrog(gone);
+                }
+                if (t % CHURN_EVERY == 0) { a.addFrog(); b.addFrog(); }
+                a.step(); b.step();
+                if (a.stateHash() != b.stateHash()) diverged = a.ticks;
+            }
+            if (diverged >= 0) {
+                System.out.printf("seed %d: same inputs diverged at tick %d%n", seed, diverged);
+                failed++;
+            }
+        }
+
+        // The last frog moves into a removed frog's slot; its queued hop has to move with it
+        World w = new World(1, LevelPlan.parse("level 1\nfree\n", 0));
+        w.addFrog(); w.addFrog();
+        Frog last = w.frogs[2];
+        int y = last.y;
+        w.press(2, World.HOP_UP);
+        w.removeFrog(0);
+        w.step();
+        if (w.frogs[0] != last || last.y != y - World.TILE) {
+            System.out.println("a queued hop was lost or went to the wrong frog when its frog changed slot");
+            failed++;
+        }
+
+        // A client flooding its frog's inputs only loses its own extra presses
+        World flood = new World(1, LevelPlan.parse("level 1\nfree\n", 0));
+        while (flood.addFrog() >= 0) {}
+        for (int k = 0; k < 1000; k++) flood.press(0, World.HOP_LEFT);
+        int before = flood.frogs[1].y;
+        flood.press(1, World.HOP_UP);
+        flood.step();
+        if (flood.frogs[1].y != before - World.TILE) {
+            System.out.println("one frog's flood of presses crowded out another's hop");
+            failed++;
+        }
+
+        System.out.printf("%d seeds x %d ticks with %d frogs: %d failed%n", seeds, ticks, World.MAX_FROGS, failed);
+        if (failed > 0) System.exit(1);
+    }
+}
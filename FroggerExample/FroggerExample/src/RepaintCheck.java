@@ -0,0 +1,70 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Headless probe for DirtyRegions: plays a World on random hops, pauses and help toggles, paints only the rectangles //
+// DirtyRegions asks for onto a persistent screen image, and compares it pixel for pixel with a full render each tick.
+// Runs a solo game and a four-frog party. Run: java -Djava.awt.headless=true RepaintCheck [ticks]
+// (exit code 1 if any frame differs)
+class RepaintCheck {
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        Assets.atlas(); // real sprites, not the fallback boxes
+        int bad = 0;
+        for (int frogs : new int[]{1, 4}) bad += run(frogs, ticks);
+        if (bad > 0) System.exit(1);
+    }
+
+    private static int run(int frogs, int ticks) {
+        World world = new World(5);
+        for (int i = 1; i < frogs; i++) world.addFrog();
+        WorldRenderer renderer = new WorldRenderer(world);
+        DirtyRegions dirty = new DirtyRegions(world, renderer);
+        List<Rectangle> rects = new ArrayList<>();
+        Component panel = new Component() {
+            @Override public void repaint(long tm, int x, int y, int w, int h) { rects.add(new Rectangle(x, y, w, h)); }
+        };
+        panel.setSize(World.WIDTH, World.HEIGHT);
+        BufferedImage screen = new BufferedImage(World.WIDTH, World.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        BufferedImage full = new BufferedImage(World.WIDTH, World.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        int[] partial = ((DataBufferInt) screen.getRaster().getDataBuffer()).getData();
+        int[] expected = ((DataBufferInt) full.getRaster().getDataBuffer()).getData();
+
+        Random rng = new Random(1);
+        boolean paused = false, help = true;
+        int bad = 0, idle = 0;
+        long area = 0;
+        for (int t = 0; t < ticks; t++) {
+            for (int i = 0; i < world.frogCount; i++) if (rng.nextInt(15) == 0) world.press(i, rng.nextInt(4));
+            if (rng.nextInt(300) == 0) paused = !paused;
+            if (rng.nextInt(200) == 0) help = !help;
+            if (!paused) world.step();
+
+            rects.clear();
+            dirty.repaint(panel, paused, help);
+            if (rects.isEmpty()) idle++;
+            for (Rectangle r : rects) {
+                Graphics2D g = screen.createGraphics();
+                g.setClip(r);
+                renderer.render(g, null, 0, paused, help);
+                g.dispose();
+                area += (long) r.width * r.height;
+            }
+            Graphics2D g = full.createGraphics();
+            renderer.render(g, null, 0, paused, help);
+            g.dispose();
+
+            if (!Arrays.equals(partial, expected)) {
+                if (bad++ < 8) System.out.printf("%d frogs, tick %d: partial repaint differs (%s)%n", frogs, world.ticks, rects);
+                System.arraycopy(expected, 0, partial, 0, expected.length); // count each miss once, not every frame after it
+            }
+        }
+        System.out.printf("%d frogs, %d ticks: %d bad frames, %d with nothing to repaint, %.1f%% of the panel repainted%n",
+                frogs, ticks, bad, idle, 100.0 * area / ticks / (World.WIDTH * World.HEIGHT));
+        return bad;
+    }
+}
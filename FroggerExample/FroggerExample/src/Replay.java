@@ -0,0 +1,176 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Deterministic replay: seed + tick-stamped inputs, plus a chained per-tick state hash to prove a re-run matches. //
+// File (big-endian): "FRP6", seed (long), the level plan in LevelPlan's binary form, ticks (int), events (int) then per
+// event varint tick-delta + input byte, checkpoint count (int) then one long per CHECKPOINT_EVERY ticks, then the hash
+// chain at the last tick (long) so the ticks after the last checkpoint are checked too. About 2 bytes per input and
+// 8 bytes per second, after a few KB of levels.
+class Replay {
+    static final int MAGIC = 0x46525036; // "FRP6": ends with the final hash; FRP5 left the last partial second unchecked
+    static final int CHECKPOINT_EVERY = 60; // one hash per simulated second
+
+    final long seed;
+    final LevelPlan plan;         // the levels it was played on
+    int ticks;                    // simulated length
+    private int[] eventTicks = new int[64];
+    private byte[] eventActions = new byte[64];
+    private int events;
+    private long[] checkpoints = new long[64];
+    private int checkpointCount;
+    private long chain;           // hash of every tick's stateHash so far (read back: up to the last tick)
+
+    Replay(long seed, LevelPlan plan) {
+        this.seed = seed;
+        this.plan = plan;
+    }
+
+    // Recording side (World calls these while recorder is set)
+    synchronized void input(int tick, int action) {
+        if (events == eventTicks.length) {
+            eventTicks = Arrays.copyOf(eventTicks, events * 2);
+            eventActions = Arrays.copyOf(eventActions, events * 2);
+        }
+        eventTicks[events] = tick;
+        eventActions[events] = (byte) action;
+        events++;
+    }
+
+    synchronized void tickDone(int tick, long stateHash) {
+        ticks = tick;
+        chain = chain * 31 + stateHash;
+        if (tick % CHECKPOINT_EVERY == 0) {
+            if (checkpointCount == checkpoints.length) checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+            checkpoints[checkpointCount++] = chain;
+        }
+    }
+
+    synchronized void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeLong(seed);
+            plan.writeBinary(out);
+            out.writeInt(ticks);
+            out.writeInt(events);
+            int prev = 0;
+            for (int i = 0; i < events; i++) {
+                writeVarInt(out, eventTicks[i] - prev);
+                out.writeByte(eventActions[i]);
+                prev = eventTicks[i];
+            }
+            out.writeInt(checkpointCount);
+            for (int i = 0; i < checkpointCount; i++) out.writeLong(checkpoints[i]);
+            out.writeLong(chain);
+        }
+    }
+
+    static Replay read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int magic = in.readInt();
+            if (magic != MAGIC && (magic >>> 8) == (MAGIC >>> 8))
+                throw new Incompatible(file + ": recorded by an older build (FRP" + (char) (magic & 0xFF) + "), can't be re-run");
+            if (magic != MAGIC) throw new IOException(file + ": not a replay file");
+            long seed = in.readLong();
+            Replay r = new Replay(seed, LevelPlan.readBinary(in));
+            int ticks = in.readInt();
+            int n = in.readInt();
+            int tick = 0;
+            for (int i = 0; i < n; i++) {
+                tick += readVarInt(in);
+                r.input(tick, in.readUnsignedByte());
+            }
+            int cps = in.readInt();
+            r.checkpoints = new long[Math.max(cps, 1)];
+            for (int i = 0; i < cps; i++) r.checkpoints[i] = in.readLong();
+            r.checkpointCount = cps;
+            r.chain = in.readLong();
+            r.ticks = ticks;
+            return r;
+        }
+    }
+
+    // A replay this build can read but not reproduce
+    static final class Incompatible extends IOException {
+        Incompatible(String message) { super(message); }
+    }
+
+    // Re-runs the recording on a fresh World as fast as possible. Returns the first tick of the checkpoint window
+    // where the hash chain differs (the last window may be shorter), or -1 if every checkpoint and the final hash match.
+    int verify() {
+        World world = new World(seed, plan);
+        long hash = 0;
+        int next = 0, cp = 0;
+        for (int tick = 1; tick <= ticks; tick++) {
+            while (next < events && eventTicks[next] == tick) {
+                int input = eventActions[next++] & 0xFF; // frog << 2 | action; joins aren't recorded, so only solo games replay
+                world.press(input >>> 2, input & 3);
+            }
+            world.step();
+            hash = hash * 31 + world.stateHash();
+            if (tick % CHECKPOINT_EVERY == 0 && cp < checkpointCount) {
+                if (checkpoints[cp++] != hash) return tick - CHECKPOINT_EVERY + 1;
+            }
+        }
+        return (hash == chain) ? -1 : ticks - (ticks - 1) % CHECKPOINT_EVERY;
+    }
+
+    // Records world's inputs from now on and writes them to file when the JVM exits
+    static void recordTo(World world, Path file) {
+        Replay r = record(world);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try { r.write(file); }
+            catch (IOException e) { System.err.println("replay: could not write " + file + ": " + e); }
+        }, "replay-dump"));
+    }
+
+    // Records world's inputs from now on
+    static Replay record(World world) {
+        if (world.ticks != 0) throw new IllegalStateException("record from tick 0 so the replay starts from the seed");
+        Replay r = new Replay(world.seed, world.plan);
+        world.recorder = r;
+        return r;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) { out.writeByte((v & 0x7F) | 0x80); v >>>= 7; }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int v = 0, shift = 0, b;
+        do {
+            b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return v;
+    }
+
+    // Headless check: `java Replay <file>...` re-runs each replay at full speed and reports divergence
+    public static void main(String[] args) throws IOException {
+        int failed = 0;
+        for (String arg : args) {
+            Replay r;
+            try {
+                r = read(Path.of(arg));
+            } catch (Incompatible e) {
+                System.out.println(e.getMessage() + ": INCOMPATIBLE");
+                failed++;
+                continue;
+            }
+            long t0 = System.nanoTime();
+            int diverged = r.verify();
+            double secs = (System.nanoTime() - t0) / 1e9;
+            if (diverged < 0) {
+                System.out.printf("%s: OK, %d ticks, %d inputs, %.0f ticks/s%n", arg, r.ticks, r.events, r.ticks / secs);
+            } else {
+                System.out.printf("%s: DIVERGED in ticks %d-%d%n", arg, diverged,
+                        Math.min(diverged + CHECKPOINT_EVERY - 1, r.ticks));
+                failed++;
+            }
+        }
+        if (failed > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,57 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Headless determinism probe: for each seed, plays two Worlds side by side on the same random inputs and compares //
+// stateHash() every tick, then records a third run, writes it out, reads it back and has Replay.verify() re-run it.
+// Even seeds play assets/levels/endless.txt, as with --levels, so the replay has to bring its own levels. Finally a hop
+// is slipped in on the last tick, after the last checkpoint, and the replay has to notice. One hop can land the game in
+// the same state (a death the frog was about to die anyway), so it only fails if none of the four is noticed.
+// Run: java ReplayCheck [seeds] [ticksPerSeed]   (exit code 1 on any mismatch)
+class ReplayCheck {
+    public static void main(String[] args) throws IOException {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int failed = 0;
+        LevelPlan endless = LevelPlan.load(Path.of("assets/levels/endless.txt"));
+        Path file = Files.createTempFile("replay-check", ".frp");
+        try {
+            for (long seed = 1; seed <= seeds; seed++) {
+                LevelPlan plan = seed % 2 == 0 ? endless : LevelPlan.standard();
+                World a = new World(seed, plan), b = new World(seed, plan), rec = new World(seed, plan);
+                Replay r = Replay.record(rec);
+                Random inputs = new Random(seed * 7);
+                int diverged = -1;
+                for (int t = 0; t < ticks; t++) {
+                    if (t % 9 == 0) {
+                        int action = inputs.nextInt(10) < 6 ? World.HOP_UP : inputs.nextInt(4);
+                        a.press(action); b.press(action); rec.press(action);
+                    }
+                    a.step(); b.step(); rec.step();
+                    if (diverged < 0 && a.stateHash() != b.stateHash()) diverged = a.ticks;
+                }
+                r.write(file);
+                int replayed = Replay.read(file).verify();
+                if (diverged >= 0 || replayed >= 0) {
+                    System.out.printf("seed %d: same inputs diverged at tick %d, replay diverged at tick %d%n", seed, diverged, replayed);
+                    failed++;
+                }
+                boolean noticed = ticks % Replay.CHECKPOINT_EVERY == 0; // then the last checkpoint covers the last tick
+                for (int action = World.HOP_LEFT; action <= World.HOP_DOWN && !noticed; action++) {
+                    Replay tampered = Replay.read(file);
+                    tampered.input(tampered.ticks, action);
+                    noticed = tampered.verify() >= 0;
+                }
+                if (!noticed) {
+                    System.out.printf("seed %d: a hop on the last tick went unnoticed%n", seed);
+                    failed++;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.printf("%d seeds x %d ticks: %d failed%n", seeds, ticks, failed);
+        if (failed > 0) System.exit(1);
+    }
+}
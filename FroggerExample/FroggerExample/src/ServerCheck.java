@@ -0,0 +1,89 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+
+// Headless probe for GameServer's frame handling: a client that sends a malformed frame must be dropped without taking //
+// its selector loop, and every room on it, down too. Starts a one-loop server, sends each bad frame on a connection of
+// its own (before and after joining a room) and expects that connection closed, then expects a well-formed client on
+// the same loop to still be welcomed.
+// Run: java ServerCheck   (exit code 1 on any failure)
+class ServerCheck {
+    static final int TIMEOUT_MS = 3_000;
+
+    public static void main(String[] args) throws IOException {
+        int failed = 0;
+        try (GameServer server = new GameServer(0, 1, 42)) {
+            server.start();
+            int port = server.port();
+            byte[][] bad = {
+                frame(GameServer.HELLO, 0),  // HELLO without its room
+                frame(GameServer.ACK, 1),    // ACK short of its tick
+                frame(GameServer.INPUT, 4),  // INPUT with bytes to spare
+                frame((byte) 9, 0),          // a type clients don't send
+                {0, 0, 0, 0},                // empty frame
+            };
+            for (int i = 0; i < bad.length; i++) {
+                for (boolean joined : new boolean[]{false, true}) {
+                    try (Socket s = connect(port)) {
+                        DataOutputStream out = new DataOutputStream(s.getOutputStream());
+                        if (joined) hello(out, 100 + i);
+                        out.write(bad[i]);
+                        out.flush();
+                        if (!closedByServer(s)) {
+                            System.out.printf("bad frame %d%s: connection not dropped%n", i, joined ? " after joining" : "");
+                            failed++;
+                        }
+                    }
+                }
+            }
+            try (Socket s = connect(port)) {
+                hello(new DataOutputStream(s.getOutputStream()), 1);
+                DataInputStream in = new DataInputStream(s.getInputStream());
+                in.readInt();
+                if (in.readByte() != GameServer.WELCOME) throw new IOException("first frame isn't a WELCOME");
+            } catch (IOException e) {
+                System.out.println("a well-formed client after the bad ones got no welcome: " + e);
+                failed++;
+            }
+        }
+        System.out.printf("malformed frames: %d failed%n", failed);
+        if (failed > 0) System.exit(1);
+    }
+
+    private static Socket connect(int port) throws IOException {
+        Socket s = new Socket("127.0.0.1", port);
+        s.setSoTimeout(TIMEOUT_MS);
+        return s;
+    }
+
+    private static void hello(DataOutputStream out, int room) throws IOException {
+        out.writeInt(5);
+        out.writeByte(GameServer.HELLO);
+        out.writeInt(room);
+        out.flush();
+    }
+
+    // Length field, type byte, then payload zero bytes
+    private static byte[] frame(byte type, int payload) {
+        return ByteBuffer.allocate(5 + payload).putInt(1 + payload).put(type).array();
+    }
+
+    // Reads (and discards WELCOME and snapshots) until the server closes the connection or the time runs out
+    private static boolean closedByServer(Socket s) throws IOException {
+        long end = System.currentTimeMillis() + TIMEOUT_MS;
+        byte[] buf = new byte[4096];
+        try {
+            while (System.currentTimeMillis() < end) {
+                if (s.getInputStream().read(buf) < 0) return true;
+            }
+        } catch (SocketTimeoutException e) {
+            return false;
+        } catch (IOException reset) {
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+// A World's visible state for network clients, as byte sections: the header (tick, level, frogs) and one //
+// per row with that lane's kind, clock and actors. Actors are sent as LaneActors stores them (base, speed, size, kind),
+// and base and speed only change on a spawn, a trim or a gap push, so between those a lane's section differs from the
+// last one only in its clock and the client predicts positions as base + speed * clock.
+// Deltas use that: per section, how many leading and trailing bytes match the baseline and the bytes in between. Spawns
+// and trims happen at a lane's ends and the x-sorted layout keeps the rest in place, so most sections cost a few bytes.
+//
+// Delta (big-endian): tick, baseline tick (-1 = none, so everything is sent), CRC32 of the full sections, section count
+// (varint), then per section prefix, suffix and middle length (varints) and the middle bytes.
+final class Snapshot {
+    private static final byte[] EMPTY = {};
+    static final int ACTOR_BYTES = 8 + 4 + 2 + 2 + 1;
+    static final int HEADER_BYTES = 4 * 4, FROG_BYTES = 4 * 4 + 1;
+
+    final int tick;
+    final byte[][] sections;
+    final int crc;
+
+    private Snapshot(int tick, byte[][] sections) {
+        this.tick = tick;
+        this.sections = sections;
+        this.crc = crc(sections);
+    }
+
+    static Snapshot of(World world) {
+        byte[][] s = new byte[1 + world.rows][];
+        ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES + world.frogCount * FROG_BYTES)
+                .putInt(world.ticks).putInt(world.level).putInt(world.rows).putInt(world.frogCount);
+        for (int i = 0; i < world.frogCount; i++) {
+            Frog f = world.frogs[i];
+            head.putInt(f.x).putInt(f.y).putInt(f.lives).putInt(f.score).put((byte) (f.alive ? 1 : 0));
+        }
+        s[0] = head.array();
+        for (int r = 0; r < world.rows; r++) {
+            Lane lane = world.freePlay ? null : world.laneAt(r);
+            if (lane == null) { s[1 + r] = EMPTY; continue; }
+            LaneActors a = lane.actors;
+            ByteBuffer b = ByteBuffer.allocate(1 + 4 + a.count * ACTOR_BYTES).put((byte) lane.kind).putInt(a.now);
+            for (int i = 0; i < a.count; i++)
+                b.putDouble(a.base[i]).putFloat(a.speed[i]).putShort(a.w[i]).putShort(a.h[i]).put(a.kind[i]);
+            s[1 + r] = b.array();
+        }
+        return new Snapshot(world.ticks, s);
+    }
+
+    // Header fields, for clients
+    int level() { return ByteBuffer.wrap(sections[0]).getInt(4); }
+    int frogs() { return ByteBuffer.wrap(sections[0]).getInt(12); }
+    int lives(int frog) { return ByteBuffer.wrap(sections[0]).getInt(HEADER_BYTES + frog * FROG_BYTES + 8); }
+    int score(int frog) { return ByteBuffer.wrap(sections[0]).getInt(HEADER_BYTES + frog * FROG_BYTES + 12); }
+
+    // This snapshot encoded against base (null: against nothing, i.e. in full)
+    byte[] delta(Snapshot base) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        ByteBuffer head = ByteBuffer.allocate(12).putInt(tick).putInt(base != null ? base.tick : -1).putInt(crc);
+        out.write(head.array(), 0, 12);
+        writeVarInt(out, sections.length);
+        for (int i = 0; i < sections.length; i++) {
+            byte[] now = sections[i], was = (base != null && i < base.sections.length) ? base.sections[i] : EMPTY;
+            int max = Math.min(now.length, was.length), prefix = 0, suffix = 0;
+            while (prefix < max && now[prefix] == was[prefix]) prefix++;
+            while (suffix < max - prefix && now[now.length - 1 - suffix] == was[was.length - 1 - suffix]) suffix++;
+            int mid = now.length - prefix - suffix;
+            writeVarInt(out, prefix);
+            writeVarInt(out, suffix);
+            writeVarInt(out, mid);
+            out.write(now, prefix, mid);
+        }
+        return out.toByteArray();
+    }
+
+    // Baseline tick a delta was encoded against, -1 for a full one; in is positioned at the delta and left there
+    static int baseTick(ByteBuffer in) { return in.getInt(in.position() + 4); }
+
+    // Rebuilds the snapshot from a delta and the baseline it names. Throws if the result doesn't match the sender's CRC.
+    static Snapshot apply(Snapshot base, ByteBuffer in) {
+        int tick = in.getInt(), baseTick = in.getInt(), crc = in.getInt();
+        if (baseTick >= 0 && (base == null || base.tick != baseTick))
+            throw new IllegalArgumentException("delta for tick " + tick + " needs baseline " + baseTick);
+        byte[][] s = new byte[readVarInt(in)][];
+        for (int i = 0; i < s.length; i++) {
+            byte[] was = (baseTick >= 0 && i < base.sections.length) ? base.sections[i] : EMPTY;
+            int prefix = readVarInt(in), suffix = readVarInt(in), mid = readVarInt(in);
+            if (prefix + suffix > was.length) throw new IllegalArgumentException("delta overruns its baseline");
+            byte[] now = new byte[prefix + mid + suffix];
+            System.arraycopy(was, 0, now, 0, prefix);
+            in.get(now, prefix, mid);
+            System.arraycopy(was, was.length - suffix, now, prefix + mid, suffix);
+            s[i] = now;
+        }
+        Snapshot snap = new Snapshot(tick, s);
+        if (snap.crc != crc) throw new IllegalArgumentException("snapshot " + tick + " fails its CRC");
+        return snap;
+    }
+
+    private static int crc(byte[][] sections) {
+        CRC32 c = new CRC32();
+        for (byte[] s : sections) {
+            c.update(s.length >>> 8);
+            c.update(s.length);
+            c.update(s);
+        }
+        return (int) c.getValue();
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int v) {
+        while ((v & ~0x7F) != 0) { out.write((v & 0x7F) | 0x80); v >>>= 7; }
+        out.write(v);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int v = 0, shift = 0, b;
+        do {
+            b = in.get();
+            v |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return v;
+    }
+}
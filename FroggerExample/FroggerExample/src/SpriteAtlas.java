@@ -0,0 +1,63 @@
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+// Display-ready sprites, built once by Assets.atlas(): compatible format, exact actor size, one copy per facing. //
+// Every draw from here is an unscaled 1:1 blit. Fields are null when the source PNG is missing (callers fall back to boxes).
+class SpriteAtlas {
+    // Road (car/truck art faces right/left respectively; the other side is pre-mirrored)
+    final BufferedImage carRight, carLeft, carRedRight, carRedLeft;
+    final BufferedImage truckRight, truckLeft;
+    // River
+    final BufferedImage log;
+    // Critters (art faces left)
+    final BufferedImage birdRight, birdLeft, snakeRight, snakeLeft;
+    // Frog
+    final BufferedImage frogFront, frogLeft, frogRight, frogRear;
+
+    // Every copy, as its cache key: source PNG, exact size, mirrored. preload() prepares each PNG's copies right after
+    // decoding it; the constructor then just picks them up.
+    private static final int FW = World.TILE - 4, FH = World.TILE - 4; // Frog.w / Frog.h
+    static final AssetCache.Key
+            CAR_RIGHT     = new AssetCache.Key(Assets.CAR,     World.CAR_W, World.CAR_H, false),
+            CAR_LEFT      = new AssetCache.Key(Assets.CAR,     World.CAR_W, World.CAR_H, true),
+            CAR_RED_RIGHT = new AssetCache.Key(Assets.CAR_RED, World.CAR_W, World.CAR_H, false),
+            CAR_RED_LEFT  = new AssetCache.Key(Assets.CAR_RED, World.CAR_W, World.CAR_H, true),
+            TRUCK_RIGHT   = new AssetCache.Key(Assets.TRUCK,   World.TRUCK_W, World.TRUCK_H, true),
+            TRUCK_LEFT    = new AssetCache.Key(Assets.TRUCK,   World.TRUCK_W, World.TRUCK_H, false),
+            LOG           = new AssetCache.Key(Assets.LOG,     World.LOG_W, World.LOG_H, false),
+            BIRD_RIGHT    = new AssetCache.Key(Assets.BIRD,    World.BIRD_W, World.BIRD_H, true),
+            BIRD_LEFT     = new AssetCache.Key(Assets.BIRD,    World.BIRD_W, World.BIRD_H, false),
+            SNAKE_RIGHT   = new AssetCache.Key(Assets.SNAKE,   World.SNAKE_W, World.SNAKE_H, true),
+            SNAKE_LEFT    = new AssetCache.Key(Assets.SNAKE,   World.SNAKE_W, World.SNAKE_H, false),
+            FROG_FRONT    = new AssetCache.Key(Assets.FROG,       FW, FH, false),
+            FROG_LEFT     = new AssetCache.Key(Assets.FROG_LEFT,  FW, FH, false),
+            FROG_RIGHT    = new AssetCache.Key(Assets.FROG_RIGHT, FW, FH, false),
+            FROG_REAR     = new AssetCache.Key(Assets.FROG_REAR,  FW, FH, false);
+    static final List<AssetCache.Key> KEYS = List.of(CAR_RIGHT, CAR_LEFT, CAR_RED_RIGHT, CAR_RED_LEFT, TRUCK_RIGHT,
+            TRUCK_LEFT, LOG, BIRD_RIGHT, BIRD_LEFT, SNAKE_RIGHT, SNAKE_LEFT, FROG_FRONT, FROG_LEFT, FROG_RIGHT, FROG_REAR);
+
+    SpriteAtlas() {
+        carRight    = Assets.prepared(CAR_RIGHT, null);
+        carLeft     = Assets.prepared(CAR_LEFT, null);
+        carRedRight = Assets.prepared(CAR_RED_RIGHT, null);
+        carRedLeft  = Assets.prepared(CAR_RED_LEFT, null);
+        truckRight  = Assets.prepared(TRUCK_RIGHT, null);
+        truckLeft   = Assets.prepared(TRUCK_LEFT, null);
+
+        log = Assets.prepared(LOG, null);
+
+        birdRight  = Assets.prepared(BIRD_RIGHT, null);
+        birdLeft   = Assets.prepared(BIRD_LEFT, null);
+        snakeRight = Assets.prepared(SNAKE_RIGHT, null);
+        snakeLeft  = Assets.prepared(SNAKE_LEFT, null);
+
+        frogFront = Assets.prepared(FROG_FRONT, null);
+        frogLeft  = Assets.prepared(FROG_LEFT, null);
+        frogRight = Assets.prepared(FROG_RIGHT, null);
+        frogRear  = Assets.prepared(FROG_REAR, null);
+    }
+
+    BufferedImage car(boolean red, boolean right) {
+        return red ? (right ? carRedRight : carRedLeft) : (right ? carRight : carLeft);
+    }
+}
@@ -1,34 +1,14 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
 
+// Truck renderer; truck state lives in LaneActors //
 class Truck {
-    double x;
-    final int y, w, h;
-    final double speed;
-
-    Truck(int x, int y, int w, int h, double speed) {
-        this.x = x;
-        this.y = y;
-        this.w = w;
-        this.h = h;
-        this.speed = speed;
-    }
-
-    void update() { x += speed; }
-
-    Rectangle bounds() { return new Rectangle((int) x, y, w, h); }
-
-    void draw(Graphics2D g) {
-        BufferedImage spr = Assets.truck();
-        int xi = (int) x;
+    static void draw(Graphics2D g, int xi, int y, int w, int h, double speed) {
+        // Truck art faces left; the atlas holds the mirrored copy for moving right
+        SpriteAtlas atlas = Assets.atlas();
+        BufferedImage spr = (speed <= 0) ? atlas.truckLeft : atlas.truckRight;
         if (spr != null) {
-            if (speed <= 0) {
-                // Truck art faces left
-                g.drawImage(spr, xi, y, w, h, null);
-            } else {
-                // Moving right: flip the art
-                g.drawImage(spr, xi + w, y, -w, h, null);
-            }
+            g.drawImage(spr, xi, y, null);
         } else {
             // Fallback rectangle if sprite not loaded
             g.setColor(new Color(84, 132, 196));
@@ -0,0 +1,476 @@
+// Headless game state + rules. step() advances one tick; no Swing/EDT needed, so it can run as fast as the CPU allows. //
+class World {
+    // Board
+    static final int TILE = 40;
+    static final int COLS = 16;
+    static final int ROWS = 18;           // default board; also the rows a front end shows at once
+    static final int WIDTH = COLS * TILE;
+    static final int HEIGHT = ROWS * TILE;
+
+    // Lanes more than NEAR_ROWS rows from the frog only tick every FAR_EVERY ticks (staggered by row) and catch up the
+    // skipped movement in one step. Every lane on a default-size board is near, so it plays exactly as before.
+    static final int NEAR_ROWS = ROWS;
+    static final int FAR_EVERY = 8;
+
+    // Uniform sizes
+    static final int CAR_W    = TILE * 2;
+    static final int CAR_H    = TILE - 10;
+    static final int TRUCK_W  = TILE * 3;
+    static final int TRUCK_H  = TILE - 8;
+    static final int LOG_W    = TILE * 3;
+    static final int LOG_H    = TILE - 12;
+    static final int BIRD_W   = TILE - 8;
+    static final int BIRD_H   = TILE - 14;
+    static final int SNAKE_W  = (int)(TILE * 1.6);
+    static final int SNAKE_H  = TILE - 12;
+    static final int[] KIND_W = {CAR_W, CAR_W, TRUCK_W, LOG_W, BIRD_W, SNAKE_W}; // indexed by LaneActors kind
+    static final int[] KIND_H = {CAR_H, CAR_H, TRUCK_H, LOG_H, BIRD_H, SNAKE_H};
+
+    // State. frogs[0] is the frog solo front ends drive and the camera follows; a shared board adds players with
+    // addFrog(). With one frog a death or the goal rebuilds the board as always; with several the board is shared, so
+    // they only send that frog back to the start. Actors live in each Lane's LaneActors store.
+    static final int MAX_FROGS = 64;
+    Frog frog;
+    final Frog[] frogs = new Frog[MAX_FROGS];
+    int frogCount;
+    private static final Lane[] NO_LANES = {};
+    Lane[] roadLanes = NO_LANES;
+    Lane[] riverLanes = NO_LANES;
+    Lane[] critterLanes = NO_LANES;
+    int rows = ROWS, height = HEIGHT; // current level's board, which may be taller than the screen
+    final Lane[] laneByRow;          // null for rows without traffic
+    private final Lane[] lanePool;   // one Lane per row, created on first use and reset() after that
+    private final Lane[] lanes;      // every active lane, top to bottom
+    private int laneCount;
+    private final int[] nearFrogs;   // scheduleLanes() scratch: per row, frogs within NEAR_ROWS of it
+    LaneWorkers laneWorkers; // opt-in: when set, step() ticks lanes concurrently on it; results match the sequential path
+    final long seed;                     // same seed + same inputs on the same ticks = same game
+    private final java.util.Random rng;
+
+    // Density overrides for tuning (BatchRunner, benchmarks); NaN = use the level's own scales
+    double trafficScale = Double.NaN;
+    double logDensityScale = Double.NaN;
+    double critterDensityScale = Double.NaN;
+
+    // Spacing
+    private final int VEHICLE_MIN_GAP = TILE;     // desired min gap on a lane
+    private final int CRITTER_MIN_GAP = TILE/2;
+
+    final LevelPlan plan;     // level layouts, from assets/levels
+    int level = 1;            // 1-based index into plan
+    boolean freePlay = false; // current level is free move (no lanes)
+
+    int ticks = 0;
+
+    private int layoutLevel = -1; // level the current layout was built for
+
+    // Outcome counters (batch runs read these). deaths is indexed by the kind of lane that killed the frog:
+    // Lane.ROAD = run over, Lane.RIVER = drowned, Lane.CRITTER = caught by a critter.
+    final int[] deaths = new int[3];
+    int gameOvers;
+    int goalTick = -1; // tick the frog first reached the goal row, -1 until then
+
+    final Metrics metrics = new Metrics(); // per-phase timings; off unless a front end enables it
+
+    // Input actions. Front ends queue them with press(); step() applies them first thing, so every input lands on a tick.
+    // Queued and recorded as frog << 2 | action.
+    static final int HOP_LEFT  = 0;
+    static final int HOP_RIGHT = 1;
+    static final int HOP_UP    = 2;
+    static final int HOP_DOWN  = 3;
+    static final int PRESSES_PER_TICK = 2; // per frog; more within one tick are dropped, so nobody can crowd out the rest
+    private final int[] pending = new int[PRESSES_PER_TICK * MAX_FROGS];
+    private final byte[] queued = new byte[MAX_FROGS]; // pending entries per frog
+    private int pendingCount;
+
+    Replay recorder; // when set, every applied input and the per-tick state hash go into it
+
+    World() { this(new java.util.Random().nextLong()); }
+
+    World(long seed) { this(seed, LevelPlan.standard()); }
+
+    World(long seed, LevelPlan plan) {
+        this.seed = seed;
+        this.plan = plan;
+        rng = new java.util.Random(seed);
+        laneByRow = new Lane[plan.maxRows()];
+        lanePool = new Lane[plan.maxRows()];
+        lanes = new Lane[plan.maxRows()];
+        nearFrogs = new int[plan.maxRows() + 1];
+        frog = frogs[frogCount++] = new Frog(startX(0), (ROWS-1)*TILE + 4);
+        setupLevel();
+    }
+
+    // Speed variation helper (+ or - 25% speed)
+    private static double vary(java.util.Random rng, double base, double factor) {
+        double mult = 1.0 + (rng.nextDouble()*2 - 1) * factor;
+        return base * mult;
+    }
+
+    // Builds the current level from the plan: fresh lanes, a couple of actors seeded on each, frog back at the start
+    void setupLevel() {
+        LevelPlan.Level spec = plan.level(level);
+        if (level != layoutLevel) {
+            // New layout: size the per-kind lane arrays once; a death rebuilds the same board into them
+            layoutLevel = level;
+            rows = spec.rows;
+            height = rows * TILE;
+            roadLanes = lanes(spec.laneCount(Lane.ROAD));
+            riverLanes = lanes(spec.laneCount(Lane.RIVER));
+            critterLanes = lanes(spec.laneCount(Lane.CRITTER));
+        }
+        laneCount = 0;
+        java.util.Arrays.fill(laneByRow, null);
+        freePlay = spec.freePlay; // free-move level: no lanes/spawns/hazards
+
+        int road = 0, river = 0, critter = 0;
+        for (int i = 0; i < spec.laneCount(); i++) {
+            LevelPlan.LaneSpec s = spec.lane(i);
+            // At least a tick apart: a tiny density override (BatchRunner --traffic 0.01) must not round to 0
+            Lane lane = lane(s, (int) Math.max(1, Math.round(s.every * densityScale(spec, s.kind))));
+            switch (s.kind) {
+                case Lane.ROAD -> roadLanes[road++] = lane;
+                case Lane.RIVER -> riverLanes[river++] = lane;
+                default -> critterLanes[critter++] = lane;
+            }
+            laneByRow[s.row] = lane;
+        }
+        for (Lane lane : laneByRow) if (lane != null) lanes[laneCount++] = lane;
+
+        // Seed each lane: random placement and speed, skipping spots too close to an actor already there
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = lanes[i];
+            int toPlace = lane.spec.seed, attempts = 0;
+            while (toPlace > 0 && attempts++ < 20 * lane.spec.seed) {
+                byte kind = lane.spec.pick(rng);
+                int w = KIND_W[kind], h = KIND_H[kind];
+                int x = rng.nextInt(WIDTH - w);
+                double sp = actorSpeed(rng, lane, kind);
+                int gap = (lane.kind == Lane.RIVER) ? TILE/2 : minGap(lane);
+                if (laneHasSpaceFor(lane, x, lane.y + LaneActors.Y_OFFSET[kind], w, h, gap)) {
+                    lane.actors.add(x, sp, w, h, kind);
+                    toPlace--;
+                }
+            }
+        }
+
+        for (int i = 0; i < frogCount; i++) resetFrog(frogs[i], i);
+    }
+
+    private static Lane[] lanes(int n) { return (n == 0) ? NO_LANES : new Lane[n]; }
+
+    // The level's spawn-interval scale for a lane kind, unless a tuning override is set
+    private double densityScale(LevelPlan.Level spec, int laneKind) {
+        double override = switch (laneKind) {
+            case Lane.ROAD -> trafficScale;
+            case Lane.RIVER -> logDensityScale;
+            default -> critterDensityScale;
+        };
+        return Double.isNaN(override) ? spec.scaleFor(laneKind) : override;
+    }
+
+    // Lane speed scaled for the actor kind, with its random variation
+    private static double actorSpeed(java.util.Random rng, Lane lane, byte kind) {
+        double base = lane.speed * LaneActors.SPEED_FACTOR[kind];
+        double v = LaneActors.SPEED_VARY[kind];
+        return (v == 0) ? base : vary(rng, base, v);
+    }
+
+    // Spacing a new actor needs from the others on its lane
+    private int minGap(Lane lane) {
+        return switch (lane.kind) {
+            case Lane.ROAD -> VEHICLE_MIN_GAP;
+            case Lane.RIVER -> TILE/3;
+            default -> CRITTER_MIN_GAP;
+        };
+    }
+
+    // Pooled lane for this row: reset in place, so dying or restarting a level keeps every actor array.
+    // Each lane's spawn Random is seeded from the world's, so the whole game still follows from one seed.
+    private Lane lane(LevelPlan.LaneSpec spec, int spawnEveryTicks) {
+        long laneSeed = rng.nextLong();
+        Lane lane = lanePool[spec.row];
+        if (lane == null) lane = lanePool[spec.row] = new Lane(spec, spawnEveryTicks, laneSeed);
+        else lane.reset(spec, spawnEveryTicks, laneSeed);
+        lane.lastTick = ticks;
+        return lane;
+    }
+
+    private void resetFrog(Frog f, int i) {
+        f.bestRowY = (rows-1)*TILE + 4;
+        f.x = startX(i);
+        f.y = (rows-1)*TILE + 4;
+        f.alive = true;
+        f.carry = 0;
+    }
+
+    // Start column for frog i: the middle one, then alternately right and left of it, wrapping round on big parties
+    private static int startX(int i) {
+        int mid = WIDTH/2 - TILE/2, side = mid / TILE, n = i % (2 * side + 1);
+        return mid + (n + 1) / 2 * ((n % 2 == 1) ? TILE : -TILE);
+    }
+
+    // Adds a player at the start row; returns its index, or -1 when the board is full
+    int addFrog() {
+        if (frogCount == MAX_FROGS) return -1;
+        int i = frogCount++;
+        resetFrog(frogs[i] = new Frog(startX(i), 0), i);
+        return i;
+    }
+
+    // Removes player i. The last frog takes its index, so whoever tracks that one should switch to i.
+    void removeFrog(int i) {
+        if (frogCount == 1) throw new IllegalStateException("a board keeps at least one frog");
+        int last = --frogCount;
+        frogs[i] = frogs[last];
+        frogs[last] = null;
+        frog = frogs[0];
+        // Queued inputs follow their frog: i's are dropped, last's now go to i
+        int kept = 0;
+        for (int k = 0; k < pendingCount; k++) {
+            int f = pending[k] >>> 2;
+            if (f == i) continue;
+            pending[kept++] = (f == last) ? (i << 2) | (pending[k] & 3) : pending[k];
+        }
+        pendingCount = kept;
+        queued[i] = queued[last];
+        queued[last] = 0;
+    }
+
+    // Queues an input for the next step(); a frog's inputs beyond PRESSES_PER_TICK within one tick are dropped
+    void press(int action) { press(0, action); }
+
+    void press(int frog, int action) {
+        if (frog < 0 || frog >= frogCount || action < HOP_LEFT || action > HOP_DOWN) return;
+        if (queued[frog] == PRESSES_PER_TICK) return;
+        queued[frog]++;
+        pending[pendingCount++] = (frog << 2) | action;
+    }
+
+    private void applyInputs() {
+        for (int i = 0; i < pendingCount; i++) {
+            int input = pending[i];
+            queued[input >>> 2] = 0;
+            Frog f = frogs[input >>> 2];
+            switch (input & 3) {
+                case HOP_LEFT  -> f.nudge(-TILE, 0);
+                case HOP_RIGHT -> f.nudge(TILE, 0);
+                case HOP_UP    -> f.nudge(0, -TILE);
+                case HOP_DOWN  -> f.nudge(0, TILE);
+            }
+            // The hop into the goal row lands above TILE; interact() scores it and moves on, so only free play stops there
+            f.clampToBoard(WIDTH, height, freePlay ? TILE : 0);
+            if (recorder != null) recorder.input(ticks, input);
+        }
+        pendingCount = 0;
+    }
+
+    // One simulation tick: inputs, spawn, move, resolve gaps, trim, score, collide
+    void step() {
+        ticks++;
+        applyInputs();
+        long start = metrics.mark(), t = start;
+        scheduleLanes();
+
+        if (laneWorkers != null) {
+            // Opt-in parallel lane phase; per-phase timings collapse into MOVE
+            laneWorkers.tick(this, lanes, laneCount);
+            t = metrics.lap(Metrics.MOVE, t);
+        } else {
+            if (!freePlay) spawn();
+            t = metrics.lap(Metrics.SPAWN, t);
+
+            // Move actors
+            for (Lane lane : roadLanes)    if (lane.steps > 0) lane.actors.update(lane.steps);
+            for (Lane lane : riverLanes)   if (lane.steps > 0) lane.actors.update(lane.steps);
+            for (Lane lane : critterLanes) if (lane.steps > 0) lane.actors.update(lane.steps);
+            t = metrics.lap(Metrics.MOVE, t);
+
+            if (!freePlay) resolveVehicleGapsSingleTrack();
+            t = metrics.lap(Metrics.GAPS, t);
+
+            // Trim off screen for performance
+            for (Lane lane : roadLanes)    if (lane.steps > 0) lane.actors.trim(WIDTH, 60);
+            for (Lane lane : riverLanes)   if (lane.steps > 0) lane.actors.trim(WIDTH, 60);
+            for (Lane lane : critterLanes) if (lane.steps > 0) lane.actors.trim(WIDTH, 60);
+            t = metrics.lap(Metrics.TRIM, t);
+        }
+
+        // Frog phase: single-threaded, after every lane has finished
+        for (int i = 0; i < frogCount; i++) frogs[i].update();
+        if (!freePlay) interact();
+        metrics.lap(Metrics.COLLIDE, t);
+        metrics.lap(Metrics.TICK, start);
+        if (recorder != null) recorder.tickDone(ticks, stateHash());
+    }
+
+    // Decides which lanes tick this time and by how many ticks: lanes near any frog every tick, far lanes on their
+    // stagger slot. Each frog marks the start and end of its window and a running sum finds the rows inside one.
+    private void scheduleLanes() {
+        java.util.Arrays.fill(nearFrogs, 0, rows + 1, 0);
+        for (int i = 0; i < frogCount; i++) {
+            int frogRow = frogs[i].y / TILE;
+            nearFrogs[Math.max(0, frogRow - NEAR_ROWS)]++;
+            nearFrogs[Math.min(rows, frogRow + NEAR_ROWS + 1)]--;
+        }
+        for (int r = 1; r < rows; r++) nearFrogs[r] += nearFrogs[r - 1];
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = lanes[i];
+            boolean due = nearFrogs[lane.row] > 0 || (ticks + lane.row) % FAR_EVERY == 0;
+            lane.steps = due ? ticks - lane.lastTick : 0;
+            if (due) lane.lastTick = ticks;
+        }
+    }
+
+    // Hash of everything the rules read (no allocation). Replays compare it tick by tick to prove determinism.
+    long stateHash() {
+        long h = mix(0, ticks);
+        h = mix(h, level);
+        for (int i = 0; i < frogCount; i++) {
+            Frog f = frogs[i];
+            h = mix(h, f.lives); h = mix(h, f.score); h = mix(h, f.bestRowY);
+            h = mix(h, f.x); h = mix(h, f.y); h = mix(h, f.alive ? 1 : 0);
+        }
+        for (Lane lane : laneByRow) {
+            if (lane == null) continue;
+            LaneActors a = lane.actors;
+            h = mix(h, a.count);
+            for (int i = 0; i < a.count; i++) {
+                h = mix(h, Double.doubleToLongBits(a.x(i)));
+                h = mix(h, Float.floatToIntBits(a.speed[i]));
+                h = mix(h, (a.w[i] << 8) | a.kind[i]);
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long h, long v) {
+        h = (h ^ v) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    // Level 1: normal spawns
+    private void spawn() {
+        for (Lane lane : roadLanes)    spawn(lane);
+        for (Lane lane : riverLanes)   spawn(lane);
+        for (Lane lane : critterLanes) spawn(lane);
+    }
+
+    // Spawns draw from the lane's own Random, so a lane's traffic doesn't depend on which thread or order lanes run in
+    private void spawn(Lane lane) {
+        // One attempt if a spawn tick fell inside the ticks this lane is advancing (just this tick, for near lanes)
+        if (lane.steps == 0 || ticks / lane.spawnEveryTicks == (ticks - lane.steps) / lane.spawnEveryTicks) return;
+        java.util.Random rng = lane.rng;
+        if (lane.spec.chance < 1 && rng.nextDouble() >= lane.spec.chance) return;
+
+        byte kind = lane.spec.pick(rng);
+        int w = KIND_W[kind], h = KIND_H[kind];
+        boolean right = lane.speed > 0;
+        double sp = actorSpeed(rng, lane, kind);
+        if (lane.kind == Lane.ROAD) {
+            // Vehicles start a little further out but only need the entry point clear
+            int x = right ? -w - 12 : WIDTH + 12;
+            int enterX = right ? -w : WIDTH;
+            if (laneHasSpaceFor(lane, enterX, lane.y + LaneActors.Y_OFFSET[kind], w, h, VEHICLE_MIN_GAP))
+                lane.actors.add(x, sp, w, h, kind);
+        } else {
+            int x = right ? -w - 10 : WIDTH + 10;
+            if (laneHasSpaceFor(lane, x, lane.y + LaneActors.Y_OFFSET[kind], w, h, minGap(lane)))
+                lane.actors.add(x, sp, w, h, kind);
+        }
+    }
+
+    // Everything step() does to one lane, in the same order as the sequential phases. Lanes share nothing, so
+    // LaneWorkers can run this for different lanes at once; only the lane's own arrays and Random are touched.
+    void tickLane(Lane lane) {
+        if (lane.steps == 0) return;
+        if (!freePlay) spawn(lane);
+        lane.actors.update(lane.steps);
+        if (!freePlay && lane.kind == Lane.ROAD) lane.actors.resolveGaps(VEHICLE_MIN_GAP);
+        lane.actors.trim(WIDTH, 60);
+    }
+
+    // Level 1: scoring, collisions, river carry, goal, frog by frog. A frog only meets the lanes on its own rows, found
+    // through laneByRow, and in each only the actors around its x, found by binary search: a frog costs a log of its
+    // lane's actor count however many frogs and actors the rest of the board holds.
+    private void interact() {
+        for (int i = 0; i < frogCount; i++) if (interact(frogs[i], i)) return;
+    }
+
+    // Returns whether the board was rebuilt, which ends this tick's frog phase
+    private boolean interact(Frog f, int i) {
+        // Raises points for moving up rows
+        if (f.y < f.bestRowY) {
+            int rowsUp = (f.bestRowY - f.y) / TILE;
+            if (rowsUp > 0) { f.score += rowsUp * 10; f.bestRowY = f.y; }
+        }
+
+        // Collisions with frog (only Level 1): only lanes on the frog's own rows can touch it
+        int topRow = Math.floorDiv(f.y, TILE), bottomRow = Math.floorDiv(f.y + f.h - 1, TILE);
+        for (int r = topRow; r <= bottomRow; r++) {
+            Lane lane = laneAt(r);
+            if (lane != null && lane.kind != Lane.RIVER && hitIndex(lane, f) >= 0) return die(f, i, lane.kind);
+        }
+
+        // River logic (only Level 1)
+        Lane top = laneAt(topRow);
+        boolean inRiver = top != null && top.kind == Lane.RIVER;
+        f.carry = 0;
+        if (inRiver) {
+            boolean onLog = false; double carry = 0;
+            for (int r = topRow; r <= bottomRow && !onLog; r++) {
+                Lane lane = laneAt(r);
+                if (lane == null || lane.kind != Lane.RIVER) continue;
+                int k = hitIndex(lane, f);
+                if (k >= 0) { onLog = true; carry = lane.actors.speed[k]; }
+            }
+            if (!onLog) return die(f, i, Lane.RIVER);
+            f.x += carry; f.clampToBoard(WIDTH, height);
+            f.carry = carry;
+        }
+
+        // Reached goal > advance to the next level (the last one repeats); on a shared board, back to the start
+        if (f.y <= TILE) {
+            f.score += 100;
+            if (goalTick < 0) goalTick = ticks;
+            if (frogCount > 1) { resetFrog(f, i); return false; }
+            level = Math.min(level + 1, plan.count());
+            setupLevel();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean die(Frog f, int i, int cause) {
+        if (!f.alive) return false;
+        f.alive = false; f.lives--; f.score = Math.max(0, f.score - 25);
+        deaths[cause]++;
+        if (f.lives <= 0) { f.lives = 3; f.score = 0; gameOvers++; if (frogCount == 1) level = 1; }
+        if (frogCount > 1) { resetFrog(f, i); return false; }
+        setupLevel();
+        return true;
+    }
+
+    Lane laneAt(int row) { return (row >= 0 && row < rows) ? laneByRow[row] : null; }
+
+    // First actor in the lane overlapping the frog, or -1. Binary search skips everyone left of the frog.
+    private int hitIndex(Lane lane, Frog f) {
+        LaneActors a = lane.actors;
+        for (int i = a.firstReaching(f.x, 0); i < a.count; i++) {
+            int xi = (int)a.x(i);
+            if (xi >= f.x + f.w) break;
+            if (Hit.boxes(xi, lane.y + LaneActors.Y_OFFSET[a.kind[i]], a.w[i], a.h[i], f.x, f.y, f.w, f.h)) return i;
+        }
+        return -1;
+    }
+
+    //  Overlap prevention (Level 1 only)
+    // Lanes hold a single kind of traffic and every sprite band overlaps the candidate's, so only x matters
+    private boolean laneHasSpaceFor(Lane lane, int x, int y, int w, int h, int gap) {
+        return lane.actors.overlapping(x, w, gap) < 0;
+    }
+
+    private void resolveVehicleGapsSingleTrack() {
+        for (Lane lane : roadLanes) if (lane.steps > 0) lane.actors.resolveGaps(VEHICLE_MIN_GAP);
+    }
+}
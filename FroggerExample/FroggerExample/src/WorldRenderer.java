@@ -0,0 +1,207 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Draws a World frame (board, actors, frog, HUD, help). Shared by the Swing panel and the active-rendering canvas. //
+class WorldRenderer {
+    static final int TILE = World.TILE;
+    static final int COLS = World.COLS;
+    static final int ROWS = World.ROWS;
+    static final int WIDTH = World.WIDTH;
+    static final int HEIGHT = World.HEIGHT;
+
+    static final Color BACKGROUND = new Color(22,18,32);
+    private static final Font BASE_FONT = new Font(Font.DIALOG, Font.PLAIN, 12); // Swing's default panel font
+    private static final Font HUD_FONT = BASE_FONT.deriveFont(Font.BOLD, 18f);
+    private static final Font HELP_FONT = BASE_FONT.deriveFont(Font.PLAIN, 16f);
+    private static final Color HELP_PANEL = new Color(0,0,0,180);
+    private static final String[] HELP = {"  Arrow keys move  |  P pause  |  H help"};
+    private static final String[] HELP_FREE = {"Free Move Mode", "Arrow keys to move the frog", "Press H to hide/show help"};
+
+    private final World world;
+
+    // Row backgrounds (tiles, road marks), one opaque strip per kind of row, built once per screen configuration. A frame
+    // blits just the rows in view, so board height costs nothing.
+    private static final int ROW_BLANK = 0, ROW_GOAL = 1, ROW_WATER = 2, ROW_ROAD = 3, ROW_GRASS = 4, ROW_START = 5,
+                             ROW_FREE = 6;
+    private final BufferedImage[] strips = new BufferedImage[7];
+    private GraphicsConfiguration stripsConfig;
+
+    // HUD line and help box as translucent overlays, redrawn only when what they show changes. Laying out text costs
+    // far more than blitting it.
+    private BufferedImage hud, help;
+    private int hudLevel, hudLives, hudScore;
+    private boolean hudPaused, hudFree, helpFree;
+
+    WorldRenderer(World world) { this.world = world; }
+
+    // alpha: fraction of a tick elapsed since the last step(); actors are drawn that far along their path (0 = as simulated)
+    void render(Graphics2D g, GraphicsConfiguration gc, double alpha, boolean paused, boolean showHelp) {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        if (stripsConfig != gc) { java.util.Arrays.fill(strips, null); hud = help = null; stripsConfig = gc; }
+
+        // Board in view: only rows that intersect the screen (and the clip, when only part is being repainted), and within
+        // them only actors that do
+        int cam = cameraY();
+        Rectangle clip = g.getClipBounds();
+        int top = (clip != null) ? Math.max(0, clip.y) : 0, bottom = (clip != null) ? Math.min(HEIGHT, clip.y + clip.height) : HEIGHT;
+        int firstRow = (cam + top) / TILE, lastRow = Math.min(world.rows - 1, (cam + bottom - 1) / TILE);
+        g.translate(0, -cam);
+        for (int r = firstRow; r <= lastRow; r++) g.drawImage(strip(rowLook(r), gc), 0, r * TILE, null);
+        if (!world.freePlay) {
+            for (int r = firstRow; r <= lastRow; r++) {
+                Lane lane = world.laneAt(r);
+                if (lane != null) drawActors(g, lane, alpha);
+            }
+        }
+        for (int i = 0; i < world.frogCount; i++) world.frogs[i].draw(g, alpha);
+        g.translate(0, cam);
+
+        // HUD on its own strip, fixed to the top of the screen
+        if (cam > 0) g.drawImage(strip(ROW_BLANK, gc), 0, 0, null);
+        g.drawImage(hud(g, gc, paused), 0, 0, null);
+        if (showHelp) g.drawImage(help(g, gc), 0, helpBounds(world.freePlay).y, null);
+    }
+
+    // Lives and score are the first frog's: the local player's
+    private BufferedImage hud(Graphics2D target, GraphicsConfiguration gc, boolean paused) {
+        Frog f = world.frog;
+        if (hud != null && hudLevel == world.level && hudLives == f.lives && hudScore == f.score
+                && hudPaused == paused && hudFree == world.freePlay) return hud;
+        hudLevel = world.level; hudLives = f.lives; hudScore = f.score; hudPaused = paused; hudFree = world.freePlay;
+
+        if (hud == null) hud = overlay(gc, WIDTH, TILE);
+        Graphics2D g = clear(hud, target);
+        g.setColor(Color.WHITE); g.setFont(HUD_FONT);
+        String hdr = world.freePlay ? "Level: "+world.level+" (Free Move)   Lives: "+f.lives+"   Score: "+f.score
+                                    : "Level: "+world.level+"   Lives: "+f.lives+"   Score: "+f.score;
+        g.drawString(hdr + (paused?"   [PAUSED]":""), 10, 26);
+        g.dispose();
+        return hud;
+    }
+
+    // The help box's full rows, since the text can run past the box
+    private BufferedImage help(Graphics2D target, GraphicsConfiguration gc) {
+        if (help != null && helpFree == world.freePlay) return help;
+        helpFree = world.freePlay;
+
+        Rectangle b = helpBounds(helpFree);
+        help = overlay(gc, WIDTH, b.height + 1);
+        Graphics2D g = clear(help, target);
+        g.setColor(HELP_PANEL); g.fillRect(b.x, 0, b.width, b.height);
+        g.setColor(Color.WHITE); g.drawRect(b.x, 0, b.width, b.height);
+        int yy = 26; g.setFont(HELP_FONT);
+        for (String line : helpFree ? HELP_FREE : HELP) { g.drawString(line, b.x+12, yy); yy+=22; }
+        g.dispose();
+        return help;
+    }
+
+    private static BufferedImage overlay(GraphicsConfiguration gc, int w, int h) {
+        return (gc != null) ? gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+                            : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    // Graphics on a wiped overlay, with the target's text antialiasing so cached text looks like text drawn directly
+    private static Graphics2D clear(BufferedImage img, Graphics2D target) {
+        Graphics2D g = img.createGraphics();
+        g.setComposite(AlphaComposite.Clear); g.fillRect(0, 0, img.getWidth(), img.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, target.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING));
+        return g;
+    }
+
+    // Help box position and size (its outline reaches one px past w and h)
+    static Rectangle helpBounds(boolean freePlay) {
+        int w = freePlay ? 420 : 300, h = freePlay ? 110 : 100;
+        return new Rectangle(WIDTH/2 - w/2, HEIGHT/2 - h/2, w, h);
+    }
+
+    // Startup frame while Assets.preload() runs: a progress bar over the plain background, nothing that needs an image
+    void renderLoading(Graphics2D g, int done, int total) {
+        g.setColor(BACKGROUND); g.fillRect(0, 0, WIDTH, HEIGHT);
+        int w = 300, h = 14, x = WIDTH/2 - w/2, y = HEIGHT/2;
+        g.setColor(Color.WHITE); g.setFont(HUD_FONT);
+        g.drawString("Loading...", x, y - 12);
+        g.drawRect(x, y, w, h);
+        g.fillRect(x + 2, y + 2, (w - 3) * done / Math.max(total, 1), h - 3);
+    }
+
+    // Top of the view in board pixels: follows the frog, holding it in the lower third, clamped to the board
+    int cameraY() {
+        int max = world.height - HEIGHT;
+        if (max <= 0) return 0;
+        int target = world.frog.y + world.frog.h / 2 - HEIGHT * 2 / 3;
+        return Math.max(0, Math.min(max, target));
+    }
+
+    private void drawActors(Graphics2D g, Lane lane, double alpha) {
+        LaneActors a = lane.actors;
+        // Sorted by x: skip to the first actor reaching the screen, stop at the first past its right edge
+        for (int i = a.firstReaching(-TILE, 0); i < a.count; i++) {
+            if (a.x(i) > WIDTH + TILE) break;
+            int xi = (int)a.xAt(i, a.now + alpha), y = lane.y + LaneActors.Y_OFFSET[a.kind[i]], w = a.w[i], h = a.h[i];
+            switch (a.kind[i]) {
+                case LaneActors.CAR     -> Car.draw(g, xi, y, w, h, a.speed[i], false);
+                case LaneActors.CAR_RED -> Car.draw(g, xi, y, w, h, a.speed[i], true);
+                case LaneActors.TRUCK   -> Truck.draw(g, xi, y, w, h, a.speed[i]);
+                case LaneActors.LOG     -> Log.draw(g, xi, y, w, h);
+                case LaneActors.BIRD    -> Bird.draw(g, xi, y, w, h, a.speed[i]);
+                case LaneActors.SNAKE   -> Snake.draw(g, xi, y, w, h, a.speed[i]);
+            }
+        }
+    }
+
+    private int rowLook(int row) {
+        if (row == 0) return ROW_BLANK; // HUD strip
+        if (world.freePlay) return ROW_FREE;
+        if (row == 1) return ROW_GOAL;
+        if (row == world.rows - 1) return ROW_START;
+        Lane lane = world.laneAt(row);
+        if (lane == null) return ROW_BLANK;
+        return switch (lane.kind) {
+            case Lane.RIVER -> ROW_WATER;
+            case Lane.ROAD -> ROW_ROAD;
+            default -> ROW_GRASS;
+        };
+    }
+
+    private BufferedImage strip(int look, GraphicsConfiguration gc) {
+        BufferedImage img = strips[look];
+        if (img != null) return img;
+
+        img = (gc != null) ? gc.createCompatibleImage(WIDTH, TILE, Transparency.OPAQUE)
+                           : new BufferedImage(WIDTH, TILE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.setColor(BACKGROUND); g.fillRect(0, 0, WIDTH, TILE);
+        switch (look) {
+            case ROW_FREE -> { g.setColor(new Color(34, 40, 52)); g.fillRect(0, 0, WIDTH, TILE); } // blank frame for now
+            case ROW_GOAL -> drawRow(g, 0, Assets.tileGoal(), new Color(72,160,72));
+            case ROW_WATER -> drawRow(g, 0, Assets.tileWater(), new Color(40,88,152));
+            case ROW_GRASS -> drawRow(g, 0, Assets.tileGrass(), new Color(72,160,72));
+            case ROW_START -> drawRow(g, 0, Assets.tileStart(), new Color(72,160,72));
+            case ROW_ROAD -> {
+                drawRow(g, 0, Assets.tileRoad(), new Color(56,56,56));
+                BufferedImage mark = Assets.tileRoadMark();
+                if (mark != null) {
+                    for (int x=0;x<WIDTH;x+=TILE) g.drawImage(mark, x, TILE/2 - 2, TILE, 4, null);
+                } else {
+                    g.setColor(new Color(236,214,96));
+                    for (int x=0;x<WIDTH;x+=60) g.fillRect(x, TILE/2 - 1, 30, 2);
+                }
+            }
+        }
+        g.dispose();
+        return strips[look] = img;
+    }
+
+    private void drawRow(Graphics2D g, int row, BufferedImage tile, Color fallback) {
+        int y = row * TILE;
+        if (tile != null) {
+            for (int c=0;c<COLS;c++) g.drawImage(tile, c*TILE, y, TILE, TILE, null);
+        } else {
+            g.setColor(fallback);
+            g.fillRect(0, y, WIDTH, TILE);
+        }
+    }
+}